@@ -0,0 +1,116 @@
+package com.eventhub.config;
+
+import com.eventhub.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Sends @Transactional(readOnly = true) service methods to the replica and everything else
+// to the primary. Spring Data's own read transactions are left on the primary, so write paths
+// that read through a repository without a service transaction never see replica lag.
+// After a user commits a write, their reads stay on the primary for a short window (and for
+// the rest of the request), so they read their own writes. The pin lives in Redis so it holds
+// on whichever node serves the next request; this node's own pins are also remembered locally
+// to skip the lookup, and if Redis can't be read the pin is assumed. Must sit behind a
+// LazyConnectionDataSourceProxy: the read-only flag is only set after the connection is requested.
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+    
+    private static final String SERVICE_PACKAGE = "com.eventhub.service.";
+    private static final String PINNED_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".PINNED";
+    private static final String PIN_KEY = "db_pin:user:";
+    private static final int MAX_PINNED_USERS = 10_000;
+    
+    private final long pinMillis;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+    
+    public ReadWriteRoutingDataSource(long pinMillis, StringRedisTemplate redisTemplate) {
+        this.pinMillis = pinMillis;
+        this.redisTemplate = redisTemplate;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        pinCurrentUser();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name == null || !name.startsWith(SERVICE_PACKAGE) || isCurrentUserPinned()) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+    
+    private void pinCurrentUser() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        
+        Long userId = currentUserId();
+        if (userId != null) {
+            long now = System.currentTimeMillis();
+            if (pinnedUntil.size() > MAX_PINNED_USERS) {
+                pinnedUntil.values().removeIf(until -> until <= now);
+            }
+            pinnedUntil.put(userId, now + pinMillis);
+            try {
+                redisTemplate.opsForValue().set(PIN_KEY + userId, "1", pinMillis, TimeUnit.MILLISECONDS);
+            } catch (DataAccessException e) {
+                log.warn("Could not share read-your-writes pin: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private boolean isCurrentUserPinned() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until != null && until > System.currentTimeMillis()) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(PIN_KEY + userId));
+        } catch (DataAccessException e) {
+            return true;
+        }
+    }
+    
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return null;
+    }
+}
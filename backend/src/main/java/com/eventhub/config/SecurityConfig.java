@@ -2,6 +2,7 @@ package com.eventhub.config;
 
 import com.eventhub.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,6 +28,10 @@ public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthFilter;
     
+    // Raising the cost upgrades existing hashes on each user's next successful login
+    @Value("${security.bcrypt-cost:10}")
+    private int bcryptCost;
+    
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -60,7 +65,7 @@ public class SecurityConfig {
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptCost);
     }
     
     @Bean
@@ -1,5 +1,6 @@
 package com.eventhub.controller;
 
+import com.eventhub.exception.ServiceOverloadedException;
 import com.eventhub.service.PasswordResetService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +27,8 @@ public class AccountController {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Recovery email has been set successfully");
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (RuntimeException e) {
             Map<String, String> response = new HashMap<>();
             response.put("error", e.getMessage());
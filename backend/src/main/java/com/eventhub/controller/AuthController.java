@@ -5,7 +5,13 @@ import com.eventhub.dto.AuthResponse;
 import com.eventhub.dto.RegisterRequest;
 import com.eventhub.entity.User;
 import com.eventhub.repository.UserRepository;
+import com.eventhub.exception.ServiceOverloadedException;
 import com.eventhub.security.JwtUtil;
+import com.eventhub.security.RateLimited;
+import com.eventhub.service.CurrentUserService;
+import com.eventhub.service.RefreshTokenService;
+import com.eventhub.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import com.eventhub.service.PasswordHashingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,8 +29,12 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final CurrentUserService currentUserService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     
     @PostMapping("/register")
+    @RateLimited(name = "register", capacity = 5, windowSeconds = 3600)
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         try {
             // Check if user already exists
@@ -46,16 +56,19 @@ public class AuthController {
             User savedUser = userRepository.save(user);
             
             // Generate JWT token
-            String token = jwtUtil.generateToken(savedUser.getEmail(), savedUser.getRole().name());
+            String token = jwtUtil.generateToken(savedUser.getId(), savedUser.getEmail(), savedUser.getRole().name());
             
             AuthResponse response = new AuthResponse(
                 token,
+                refreshTokenService.issue(savedUser.getId()),
                 savedUser.getEmail(),
                 savedUser.getName(),
                 savedUser.getRole().name()
             );
             
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> response = new HashMap<>();
             response.put("error", "Registration failed: " + e.getMessage());
@@ -64,6 +77,7 @@ public class AuthController {
     }
     
     @PostMapping("/login")
+    @RateLimited(name = "login", capacity = 10, windowSeconds = 60)
     public ResponseEntity<?> login(@Valid @RequestBody AuthRequest request) {
         try {
             User user = userRepository.findByEmail(request.getEmail())
@@ -75,21 +89,81 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+            // Re-hash with the current cost while we have the plain password
+            if (passwordHashingService.needsRehash(user.getPassword())) {
+                user.setPassword(passwordHashingService.hashPassword(request.getPassword()));
+                user.setUpdatedAt(LocalDateTime.now());
+                userRepository.save(user);
+                currentUserService.evict(user.getId());
+            }
+            
             // Generate JWT token
-            String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+            String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
             
             AuthResponse response = new AuthResponse(
                 token,
+                refreshTokenService.issue(user.getId()),
                 user.getEmail(),
                 user.getName(),
                 user.getRole().name()
             );
             
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> response = new HashMap<>();
             response.put("error", "Login failed: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
+    
+    // Trades a refresh token for a new access/refresh pair; the old refresh token stops working
+    @PostMapping("/refresh")
+    @RateLimited(name = "refresh", capacity = 30, windowSeconds = 60)
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+        if (refreshToken == null || refreshToken.isBlank()) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", "Refresh token is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        User user;
+        try {
+            user = userRepository.findById(refreshTokenService.consume(refreshToken))
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        } catch (RuntimeException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(401).body(response);
+        }
+        
+        AuthResponse response = new AuthResponse(
+            jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name()),
+            refreshTokenService.issue(user.getId()),
+            user.getEmail(),
+            user.getName(),
+            user.getRole().name()
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                    @RequestBody(required = false) Map<String, String> request) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            Claims claims = jwtUtil.parseToken(authHeader.substring(7));
+            if (claims != null) {
+                tokenRevocationService.revoke(claims);
+            }
+        }
+        if (request != null && request.get("refreshToken") != null) {
+            refreshTokenService.revoke(request.get("refreshToken"));
+        }
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out");
+        return ResponseEntity.ok(response);
+    }
 }
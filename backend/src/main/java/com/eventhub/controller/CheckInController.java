@@ -1,13 +1,30 @@
 package com.eventhub.controller;
 
+import com.eventhub.dto.BatchCheckInRequest;
+import com.eventhub.dto.BatchCheckInResponse;
 import com.eventhub.dto.CheckInRequest;
 import com.eventhub.dto.CheckInResponse;
+import com.eventhub.dto.CheckInTimelineBucket;
+import com.eventhub.dto.FraudQueuePage;
+import com.eventhub.dto.FraudRescoreStatus;
+import com.eventhub.entity.CheckIn;
+import com.eventhub.dto.TicketSyncResponse;
+import com.eventhub.service.CheckInRollupService;
 import com.eventhub.service.CheckInService;
+import com.eventhub.service.FraudRescoreService;
+import com.eventhub.service.LiveCheckInService;
+import com.eventhub.service.TicketSyncService;
+import com.eventhub.security.ClientIpResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/check-in")
@@ -15,10 +32,43 @@ import org.springframework.web.bind.annotation.*;
 public class CheckInController {
     
     private final CheckInService checkInService;
+    private final TicketSyncService ticketSyncService;
+    private final LiveCheckInService liveCheckInService;
+    private final ClientIpResolver clientIpResolver;
+    private final CheckInRollupService checkInRollupService;
+    private final FraudRescoreService fraudRescoreService;
     
     @PostMapping
-    public ResponseEntity<CheckInResponse> checkIn(@Valid @RequestBody CheckInRequest request) {
-        return ResponseEntity.ok(checkInService.checkIn(request));
+    public ResponseEntity<CheckInResponse> checkIn(@Valid @RequestBody CheckInRequest request,
+                                                   HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(checkInService.checkIn(request, clientIpResolver.resolve(httpRequest)));
+    }
+    
+    @PostMapping("/admin/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchCheckInResponse> adminBatchCheckIn(@Valid @RequestBody BatchCheckInRequest request) {
+        return ResponseEntity.ok(checkInService.adminBatchCheckIn(request));
+    }
+    
+    @PostMapping("/admin/rescore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FraudRescoreStatus> startRescore(
+            @RequestParam(defaultValue = "1000") int chunkSize,
+            @RequestParam(defaultValue = "100") long pauseMillis,
+            @RequestParam(defaultValue = "false") boolean resume) {
+        return ResponseEntity.ok(fraudRescoreService.start(chunkSize, pauseMillis, resume));
+    }
+    
+    @GetMapping("/admin/rescore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FraudRescoreStatus> getRescoreStatus() {
+        return ResponseEntity.ok(fraudRescoreService.getStatus());
+    }
+    
+    @PostMapping("/admin/rescore/pause")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FraudRescoreStatus> pauseRescore() {
+        return ResponseEntity.ok(fraudRescoreService.pause());
     }
     
     @PostMapping("/admin/{registrationId}")
@@ -50,9 +100,59 @@ public class CheckInController {
         return ResponseEntity.ok(checkInService.getEventCheckIns(eventId));
     }
     
+    @GetMapping("/event/{eventId}/sync")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TicketSyncResponse> syncTickets(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(ticketSyncService.sync(eventId, since));
+    }
+    
+    @GetMapping(value = "/event/{eventId}/live", produces = "text/event-stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamLiveStats(@PathVariable Long eventId) {
+        return liveCheckInService.subscribe(eventId);
+    }
+    
+    @GetMapping("/event/{eventId}/timeline")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CheckInTimelineBucket>> getTimeline(@PathVariable Long eventId) {
+        return ResponseEntity.ok(checkInRollupService.getTimeline(eventId));
+    }
+    
+    @PostMapping("/event/{eventId}/timeline/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildTimeline(@PathVariable Long eventId) {
+        checkInRollupService.rebuild(eventId);
+        return ResponseEntity.ok("Timeline rebuilt");
+    }
+    
     @GetMapping("/flagged")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getFlaggedCheckIns() {
         return ResponseEntity.ok(checkInService.getFlaggedCheckIns());
     }
+    
+    @GetMapping("/fraud-queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FraudQueuePage> getFraudQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(checkInService.getFraudQueue(cursor, eventId, from, to, size));
+    }
+    
+    @PostMapping("/fraud-queue/{checkInId}/resolve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CheckInResponse> resolveFlaggedCheckIn(@PathVariable Long checkInId) {
+        return ResponseEntity.ok(checkInService.reviewFlaggedCheckIn(checkInId, CheckIn.ReviewOutcome.CONFIRMED));
+    }
+    
+    @PostMapping("/fraud-queue/{checkInId}/dismiss")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CheckInResponse> dismissFlaggedCheckIn(@PathVariable Long checkInId) {
+        return ResponseEntity.ok(checkInService.reviewFlaggedCheckIn(checkInId, CheckIn.ReviewOutcome.DISMISSED));
+    }
 }
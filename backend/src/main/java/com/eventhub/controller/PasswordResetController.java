@@ -1,5 +1,7 @@
 package com.eventhub.controller;
 
+import com.eventhub.exception.ServiceOverloadedException;
+import com.eventhub.security.ClientIpResolver;
 import com.eventhub.service.PasswordResetService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,29 +15,22 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PasswordResetController {
     private final PasswordResetService passwordResetService;
+    private final ClientIpResolver clientIpResolver;
     
     @PostMapping("/request")
     public ResponseEntity<Map<String, String>> requestPasswordReset(
             @RequestBody Map<String, String> request,
             HttpServletRequest httpRequest) {
-        try {
-            String registeredEmail = request.get("registeredEmail");
-            String recoveryEmail = request.get("recoveryEmail");
-            String ipAddress = getClientIpAddress(httpRequest);
-            
-            passwordResetService.requestPasswordReset(registeredEmail, recoveryEmail, ipAddress);
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "If the account exists with matching recovery email, a reset link has been sent");
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("Too many reset requests")) {
-                Map<String, String> response = new HashMap<>();
-                response.put("error", "Too many reset requests. Please try again in 1 hour");
-                return ResponseEntity.status(429).body(response);
-            }
-            throw e;
-        }
+        String registeredEmail = request.get("registeredEmail");
+        String recoveryEmail = request.get("recoveryEmail");
+        String ipAddress = clientIpResolver.resolve(httpRequest);
+        
+        // Over the limit, this throws RateLimitExceededException, which is returned as 429
+        passwordResetService.requestPasswordReset(registeredEmail, recoveryEmail, ipAddress);
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "If the account exists with matching recovery email, a reset link has been sent");
+        return ResponseEntity.ok(response);
     }
     
     @GetMapping("/validate/{token}")
@@ -63,18 +58,12 @@ public class PasswordResetController {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Password has been successfully reset. Please login with your new password.");
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (RuntimeException e) {
             Map<String, String> response = new HashMap<>();
             response.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
-    
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0];
-        }
-        return request.getRemoteAddr();
-    }
 }
@@ -41,6 +41,19 @@ public class PasswordResetRequestController {
         }
     }
     
+    @PostMapping("/pending/claim")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<PasswordResetRequestDto>> claimPendingRequests(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.claimPendingRequests(limit));
+    }
+    
+    @PostMapping("/{id}/release")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> releaseRequest(@PathVariable Long id) {
+        service.releaseRequest(id);
+        return ResponseEntity.noContent().build();
+    }
+    
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<PasswordResetRequestDto> approveRequest(@PathVariable Long id) {
@@ -45,6 +45,19 @@ public class RegistrationController {
         return ResponseEntity.ok(registrationService.getPendingRegistrations());
     }
     
+    @PostMapping("/pending/claim")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RegistrationResponse>> claimPendingRegistrations(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(registrationService.claimPendingRegistrations(limit));
+    }
+    
+    @PostMapping("/{id}/release")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> releaseRegistration(@PathVariable Long id) {
+        registrationService.releaseRegistration(id);
+        return ResponseEntity.noContent().build();
+    }
+    
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<RegistrationResponse> approveRegistration(@PathVariable Long id) {
@@ -1,11 +1,15 @@
 package com.eventhub.controller;
 
+import com.eventhub.dto.RatingSummaryResponse;
+import com.eventhub.dto.ReviewPage;
 import com.eventhub.dto.ReviewRequest;
 import com.eventhub.dto.ReviewResponse;
+import com.eventhub.service.RatingSummaryService;
 import com.eventhub.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
@@ -15,6 +19,7 @@ import java.util.List;
 public class ReviewController {
     
     private final ReviewService reviewService;
+    private final RatingSummaryService ratingSummaryService;
     
     @PostMapping
     public ResponseEntity<ReviewResponse> createReview(@Valid @RequestBody ReviewRequest request) {
@@ -35,8 +40,12 @@ public class ReviewController {
     }
     
     @GetMapping("/event/{eventId}")
-    public ResponseEntity<List<ReviewResponse>> getEventReviews(@PathVariable Long eventId) {
-        return ResponseEntity.ok(reviewService.getEventReviews(eventId));
+    public ResponseEntity<ReviewPage> getEventReviews(
+            @PathVariable Long eventId,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.getEventReviews(eventId, sort, cursor, size));
     }
     
     @GetMapping("/event/{eventId}/rating")
@@ -44,11 +53,35 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getEventAverageRating(eventId));
     }
     
+    @GetMapping("/ratings")
+    public ResponseEntity<List<RatingSummaryResponse>> getRatings(@RequestParam List<Long> eventIds) {
+        return ResponseEntity.ok(ratingSummaryService.getSummaries(eventIds));
+    }
+    
     @GetMapping("/my-reviews")
     public ResponseEntity<List<ReviewResponse>> getMyReviews() {
         return ResponseEntity.ok(reviewService.getUserReviews());
     }
     
+    @GetMapping("/held")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ReviewResponse>> getHeldReviews() {
+        return ResponseEntity.ok(reviewService.getHeldReviews());
+    }
+    
+    @PostMapping("/{id}/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReviewResponse> approveReview(@PathVariable Long id) {
+        return ResponseEntity.ok(reviewService.approveHeldReview(id));
+    }
+    
+    @PostMapping("/{id}/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rejectReview(@PathVariable Long id) {
+        reviewService.rejectHeldReview(id);
+        return ResponseEntity.ok("Review rejected");
+    }
+    
     @PostMapping("/{id}/helpful")
     public ResponseEntity<?> markHelpful(@PathVariable Long id) {
         reviewService.markHelpful(id);
@@ -0,0 +1,22 @@
+package com.eventhub.controller;
+
+import com.eventhub.dto.WorkQueueStats;
+import com.eventhub.service.WorkQueueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/work-queue")
+@RequiredArgsConstructor
+public class WorkQueueController {
+    
+    private final WorkQueueService workQueueService;
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WorkQueueStats> getStats(@RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok(workQueueService.getStats(hours));
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventhub.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BatchCheckInRequest {
+    @NotEmpty(message = "At least one scan is required")
+    @Size(max = 1000, message = "A batch can contain at most 1000 scans")
+    private List<@Valid CheckInScan> scans;
+}
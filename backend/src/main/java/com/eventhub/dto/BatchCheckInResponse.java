@@ -0,0 +1,22 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BatchCheckInResponse {
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    private List<BatchCheckInResult> results;
+    
+    public static BatchCheckInResponse of(List<BatchCheckInResult> results) {
+        BatchCheckInResponse response = new BatchCheckInResponse();
+        int succeeded = (int) results.stream().filter(BatchCheckInResult::getSuccess).count();
+        response.setTotal(results.size());
+        response.setSucceeded(succeeded);
+        response.setFailed(results.size() - succeeded);
+        response.setResults(results);
+        return response;
+    }
+}
@@ -0,0 +1,42 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+
+@Data
+public class BatchCheckInResult {
+    private Integer index;
+    private Long registrationId;
+    private String ticketCode;
+    private Boolean success;
+    private Boolean replayed = false; // Scan was already uploaded earlier
+    private String error;
+    private CheckInResponse checkIn;
+    
+    public static BatchCheckInResult success(int index, CheckInScan scan, CheckInResponse checkIn) {
+        BatchCheckInResult result = of(index, scan);
+        result.setSuccess(true);
+        result.setCheckIn(checkIn);
+        return result;
+    }
+    
+    public static BatchCheckInResult replayed(int index, CheckInScan scan, CheckInResponse checkIn) {
+        BatchCheckInResult result = success(index, scan, checkIn);
+        result.setReplayed(true);
+        return result;
+    }
+    
+    public static BatchCheckInResult failure(int index, CheckInScan scan, String error) {
+        BatchCheckInResult result = of(index, scan);
+        result.setSuccess(false);
+        result.setError(error);
+        return result;
+    }
+    
+    private static BatchCheckInResult of(int index, CheckInScan scan) {
+        BatchCheckInResult result = new BatchCheckInResult();
+        result.setIndex(index);
+        result.setRegistrationId(scan.getRegistrationId());
+        result.setTicketCode(scan.getTicketCode());
+        return result;
+    }
+}
@@ -0,0 +1,29 @@
+package com.eventhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInActivity {
+    public static final String CHECK_IN = "CHECK_IN"; // A check_ins row was written
+    public static final String ATTENDEE_CHECK_IN = "ATTENDEE_CHECK_IN"; // A registration was marked checked in
+    
+    private Long eventId;
+    private String type;
+    private Boolean flagged;
+    private String verificationMethod;
+    private LocalDateTime occurredAt;
+    private String originNode; // Node that produced it, so Redis fan-out skips the sender
+    
+    public static CheckInActivity checkIn(Long eventId, boolean flagged, String verificationMethod, LocalDateTime occurredAt) {
+        return new CheckInActivity(eventId, CHECK_IN, flagged, verificationMethod, occurredAt, null);
+    }
+    
+    public static CheckInActivity attendeeCheckIn(Long eventId, LocalDateTime occurredAt) {
+        return new CheckInActivity(eventId, ATTENDEE_CHECK_IN, false, null, occurredAt, null);
+    }
+}
@@ -16,6 +16,7 @@ public class CheckInResponse {
     private Double fraudScore;
     private Boolean isFlagged;
     private String flagReason;
+    private String reviewOutcome;
     
     // Streak info
     private Integer currentStreak;
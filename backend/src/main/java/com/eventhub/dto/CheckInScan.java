@@ -0,0 +1,18 @@
+package com.eventhub.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class CheckInScan {
+    @Size(max = 64, message = "Client scan id must be at most 64 characters")
+    private String clientScanId; // Unique per scan, makes re-uploads idempotent
+    private Long registrationId;
+    private String ticketCode; // Used when registrationId is not set
+    private LocalDateTime scannedAt;
+    private String deviceInfo;
+    private String verificationMethod; // QR_CODE, GPS, MANUAL, TICKET_CODE
+    private Double latitude;
+    private Double longitude;
+}
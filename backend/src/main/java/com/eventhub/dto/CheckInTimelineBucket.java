@@ -0,0 +1,14 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class CheckInTimelineBucket {
+    private LocalDateTime minute;
+    private Long checkIns;
+    private Long flagged;
+    private Double flaggedRatio;
+    private Map<String, Long> byVerificationMethod;
+}
@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class EventRequest {
@@ -32,6 +33,15 @@ public class EventRequest {
     
     private String imageUrl;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
+    @Positive(message = "Geofence radius must be positive")
+    private Double geofenceRadius;
+    
+    private List<VenueZone> venueZones;
+    
     private String status;
     
     private Boolean isFeatured;
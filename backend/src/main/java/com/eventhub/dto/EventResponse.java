@@ -3,6 +3,7 @@ package com.eventhub.dto;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class EventResponse {
@@ -17,6 +18,10 @@ public class EventResponse {
     private BigDecimal price;
     private String category;
     private String imageUrl;
+    private Double latitude;
+    private Double longitude;
+    private Double geofenceRadius;
+    private List<VenueZone> venueZones;
     private String status;
     private Boolean isFeatured;
     private String createdByName;
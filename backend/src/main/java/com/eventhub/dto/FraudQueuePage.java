@@ -0,0 +1,10 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class FraudQueuePage {
+    private List<CheckInResponse> items;
+    private String nextCursor; // Pass as "cursor" for the next page, null on the last page
+}
@@ -0,0 +1,21 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class FraudRescoreStatus {
+    private Long jobId;
+    private String status;
+    private Long lastProcessedId;
+    private Long maxId;
+    private Long processed;
+    private Long changed;
+    private Double percentComplete;
+    private Integer chunkSize;
+    private Long pauseMillis;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class LiveCheckInStats {
+    private Long eventId;
+    private Long checkIns;
+    private Long flagged;
+    private Long attendeesCheckedIn;
+    private Map<LocalDateTime, Long> arrivalsPerMinute; // Last hour, keyed by start of minute
+}
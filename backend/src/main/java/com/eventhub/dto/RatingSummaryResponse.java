@@ -0,0 +1,12 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class RatingSummaryResponse {
+    private Long eventId;
+    private Double averageRating;
+    private Integer totalReviews;
+    private List<Long> starCounts; // Number of 1-star to 5-star reviews, in that order
+}
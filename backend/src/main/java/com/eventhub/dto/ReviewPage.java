@@ -0,0 +1,12 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ReviewPage {
+    private List<ReviewResponse> items;
+    private String nextCursor; // Pass as "cursor" for the next page, null on the last page
+    private Double averageRating;
+    private Integer totalReviews;
+}
@@ -15,4 +15,6 @@ public class ReviewResponse {
     private Integer helpfulCount;
     private Double averageRating;
     private Integer totalReviews;
+    private Boolean held;
+    private String heldReason;
 }
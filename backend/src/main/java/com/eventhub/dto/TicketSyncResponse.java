@@ -0,0 +1,21 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class TicketSyncResponse {
+    private Long eventId;
+    private Long version; // Pass back as "since" on the next sync
+    private Boolean fullSnapshot;
+    
+    // Full snapshot: ticket codes "TKT-XXXXXXXX" packed as sorted unsigned 32-bit big-endian ints, Base64 encoded
+    private String format;
+    private Integer ticketCount;
+    private String packedTickets;
+    private List<String> otherTickets; // Codes that don't fit the packed format
+    
+    // Delta since the requested version
+    private List<String> added;
+    private List<String> revoked;
+}
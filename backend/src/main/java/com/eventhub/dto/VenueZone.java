@@ -0,0 +1,17 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class VenueZone {
+    private String name;
+    
+    // Circle zone
+    private Double latitude;
+    private Double longitude;
+    private Double radius; // meters
+    
+    // Polygon zone, takes precedence over the circle when set
+    private List<List<Double>> polygon; // [[latitude, longitude], ...]
+}
@@ -0,0 +1,20 @@
+package com.eventhub.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class WorkQueueStats {
+    private long pendingRegistrations;
+    private long pendingPasswordResets;
+    private List<AdminThroughput> admins;
+    
+    @Data
+    public static class AdminThroughput {
+        private String queue;
+        private Long adminId;
+        private String adminName;
+        private Long completed;
+        private Double avgHandleSeconds; // From claim to approve/reject; null when handled without claiming
+    }
+}
@@ -7,7 +7,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "check_ins")
+@Table(name = "check_ins",
+       indexes = {
+           @Index(name = "idx_check_ins_user_created", columnList = "user_id, created_at"),
+           @Index(name = "idx_check_ins_event_created", columnList = "event_id, created_at"),
+           @Index(name = "idx_check_ins_fraud_queue", columnList = "is_flagged, fraud_score, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,6 +46,10 @@ public class CheckIn {
     @Column(name = "ip_address")
     private String ipAddress;
     
+    // Id assigned by an offline scanner so re-uploaded scans are not applied twice
+    @Column(name = "client_scan_id", unique = true, length = 64)
+    private String clientScanId;
+    
     // Verification
     @Column(name = "is_verified")
     private Boolean isVerified = false;
@@ -52,9 +61,28 @@ public class CheckIn {
     @Column(name = "fraud_score")
     private Double fraudScore = 0.0; // 0-100, higher = more suspicious
     
+    // Shared device/IP part of fraudScore, kept so re-scoring can add it back
+    @Column(name = "cluster_score")
+    private Double clusterScore = 0.0;
+    
     @Column(name = "is_flagged")
     private Boolean isFlagged = false;
     
     @Column(name = "flag_reason")
     private String flagReason;
+    
+    // Fraud review; reviewing clears isFlagged so the check-in leaves the queue
+    @Enumerated(EnumType.STRING)
+    @Column(name = "review_outcome")
+    private ReviewOutcome reviewOutcome;
+    
+    @Column(name = "reviewed_by")
+    private Long reviewedBy;
+    
+    @Column(name = "reviewed_at")
+    private LocalDateTime reviewedAt;
+    
+    public enum ReviewOutcome {
+        CONFIRMED, DISMISSED
+    }
 }
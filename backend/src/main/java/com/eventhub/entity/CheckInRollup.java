@@ -0,0 +1,35 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "check_in_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_check_in_rollups_bucket",
+               columnNames = {"event_id", "bucket_minute", "verification_method"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "bucket_minute", nullable = false)
+    private LocalDateTime bucketMinute; // Start of the minute
+    
+    @Column(name = "verification_method", nullable = false, length = 32)
+    private String verificationMethod;
+    
+    @Column(name = "check_ins", nullable = false)
+    private Long checkIns = 0L;
+    
+    @Column(name = "flagged", nullable = false)
+    private Long flagged = 0L;
+}
@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "check_in_streaks")
+@Table(name = "check_in_streaks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_check_in_streaks_user", columnNames = "user_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,6 +46,12 @@ public class Event {
     
     private Double longitude;
     
+    @Column(name = "geofence_radius")
+    private Double geofenceRadius; // meters, defaults to 100
+    
+    @Column(name = "venue_zones", columnDefinition = "TEXT")
+    private String venueZones; // JSON list of circles and polygons
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private EventStatus status = EventStatus.UPCOMING;
@@ -0,0 +1,43 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_rating_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventRatingSummary {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+    
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+    
+    // Histogram of 1-5 star ratings
+    @Column(name = "one_star", nullable = false)
+    private Long oneStar = 0L;
+    
+    @Column(name = "two_star", nullable = false)
+    private Long twoStar = 0L;
+    
+    @Column(name = "three_star", nullable = false)
+    private Long threeStar = 0L;
+    
+    @Column(name = "four_star", nullable = false)
+    private Long fourStar = 0L;
+    
+    @Column(name = "five_star", nullable = false)
+    private Long fiveStar = 0L;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
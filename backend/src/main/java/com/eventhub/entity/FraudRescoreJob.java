@@ -0,0 +1,59 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fraud_rescore_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FraudRescoreJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status = JobStatus.RUNNING;
+    
+    // Checkpoint: every check-in with id <= lastProcessedId has been re-scored
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId = 0L;
+    
+    @Column(name = "max_id", nullable = false)
+    private Long maxId = 0L; // Highest check-in id when the job started
+    
+    @Column(name = "processed", nullable = false)
+    private Long processed = 0L;
+    
+    @Column(name = "changed", nullable = false)
+    private Long changed = 0L;
+    
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+    
+    @Column(name = "pause_millis", nullable = false)
+    private Long pauseMillis;
+    
+    @Column(name = "started_by")
+    private Long startedBy;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt = LocalDateTime.now();
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    private String error;
+    
+    public enum JobStatus {
+        RUNNING, PAUSED, COMPLETED, FAILED
+    }
+}
@@ -7,7 +7,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_resets")
+@Table(name = "password_resets", indexes = {
+    @Index(name = "idx_password_resets_expires", columnList = "expires_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
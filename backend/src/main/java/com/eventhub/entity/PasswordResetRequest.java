@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_reset_requests")
+@Table(name = "password_reset_requests",
+       indexes = @Index(name = "idx_password_reset_requests_status", columnList = "status, requested_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
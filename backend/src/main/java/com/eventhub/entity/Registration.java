@@ -8,7 +8,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "registrations", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}),
+       indexes = {
+           @Index(name = "idx_registrations_ticket_code", columnList = "ticket_code"),
+           @Index(name = "idx_registrations_event_approved", columnList = "event_id, approved_at"),
+           @Index(name = "idx_registrations_status", columnList = "status, registered_at")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,6 +42,7 @@ public class Registration {
     
     private String paymentMethod;
     
+    @Column(name = "ticket_code")
     private String ticketCode;
     
     @Column(name = "approved_at")
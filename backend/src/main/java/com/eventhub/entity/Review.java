@@ -7,7 +7,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+       indexes = {
+           @Index(name = "idx_reviews_event_created", columnList = "event_id, created_at, id"),
+           @Index(name = "idx_reviews_event_helpful", columnList = "event_id, helpful_count, id"),
+           @Index(name = "idx_reviews_event_rating", columnList = "event_id, rating, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,4 +43,11 @@ public class Review {
     
     @Column(name = "helpful_count")
     private Integer helpfulCount = 0;
+    
+    // Held reviews wait for moderation; they are hidden from feeds and left out of ratings
+    @Column(name = "is_held", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean isHeld = false;
+    
+    @Column(name = "held_reason")
+    private String heldReason;
 }
@@ -0,0 +1,29 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "review_helpful_votes",
+       uniqueConstraints = @UniqueConstraint(name = "uk_review_helpful_votes_review_user",
+               columnNames = {"review_id", "user_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewHelpfulVote {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "review_id", nullable = false)
+    private Long reviewId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
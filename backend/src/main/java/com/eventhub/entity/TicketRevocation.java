@@ -0,0 +1,29 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ticket_revocations",
+       indexes = @Index(name = "idx_ticket_revocations_event_revoked", columnList = "event_id, revoked_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketRevocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Plain ids so the row outlives the registration it revokes
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Column(name = "ticket_code", nullable = false)
+    private String ticketCode;
+    
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt = LocalDateTime.now();
+}
@@ -0,0 +1,65 @@
+package com.eventhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "work_queue_items",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"queue", "item_id"}),
+       indexes = {
+           @Index(name = "idx_work_queue_available", columnList = "queue, status, lease_until, id"),
+           @Index(name = "idx_work_queue_completed", columnList = "status, completed_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkQueueItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Queue queue;
+    
+    // Registration or password reset request id, depending on the queue
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+    
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt = LocalDateTime.now();
+    
+    // Claimable once this passes, so an abandoned claim returns to the queue on its own
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil = LocalDateTime.now();
+    
+    @Column(name = "claimed_by")
+    private Long claimedBy;
+    
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
+    @Column(name = "completed_by")
+    private Long completedBy;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(length = 16)
+    private String outcome;
+    
+    public enum Queue {
+        REGISTRATION, PASSWORD_RESET
+    }
+    
+    public enum Status {
+        PENDING, DONE
+    }
+}
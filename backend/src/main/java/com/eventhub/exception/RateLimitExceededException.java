@@ -0,0 +1,16 @@
+package com.eventhub.exception;
+
+// Thrown when a caller has used up a rate limit; mapped to 429 with a Retry-After header
+public class RateLimitExceededException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
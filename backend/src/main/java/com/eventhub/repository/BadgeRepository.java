@@ -3,10 +3,12 @@ package com.eventhub.repository;
 import com.eventhub.entity.Badge;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BadgeRepository extends JpaRepository<Badge, Long> {
     List<Badge> findByUserId(Long userId);
+    List<Badge> findByUserIdIn(Collection<Long> userIds);
     boolean existsByUserIdAndBadgeType(Long userId, String badgeType);
 }
@@ -1,10 +1,13 @@
 package com.eventhub.repository;
 
 import com.eventhub.entity.CheckIn;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,11 +15,19 @@ import java.util.Optional;
 public interface CheckInRepository extends JpaRepository<CheckIn, Long> {
     List<CheckIn> findByUserId(Long userId);
     List<CheckIn> findByEventId(Long eventId);
+    long countByEventId(Long eventId);
+    long countByEventIdAndIsFlaggedTrue(Long eventId);
     List<CheckIn> findByUserIdAndEventId(Long userId, Long eventId);
     
     @Query("SELECT c FROM CheckIn c WHERE c.user.id = ?1 AND c.createdAt >= ?2")
     List<CheckIn> findCheckInsAfter(Long userId, LocalDateTime dateTime);
     
+    @Query("SELECT c FROM CheckIn c WHERE c.user.id IN ?1 AND c.createdAt >= ?2")
+    List<CheckIn> findByUserIdsAfter(Collection<Long> userIds, LocalDateTime dateTime);
+    
+    @Query("SELECT c.createdAt FROM CheckIn c WHERE c.event.id = ?1 AND c.createdAt >= ?2")
+    List<LocalDateTime> findCreatedAtByEventIdAfter(Long eventId, LocalDateTime dateTime);
+    
     @Query("SELECT COUNT(c) FROM CheckIn c WHERE c.user.id = ?1 AND c.event.id = ?2")
     long countByUserAndEvent(Long userId, Long eventId);
     
@@ -24,4 +35,22 @@ public interface CheckInRepository extends JpaRepository<CheckIn, Long> {
     List<CheckIn> findFlaggedCheckIns();
     
     List<CheckIn> findByIsFlaggedTrue();
+    
+    // Keyset page of the fraud review queue, highest score first and newest first within a score
+    @Query("SELECT c FROM CheckIn c JOIN FETCH c.user JOIN FETCH c.event " +
+           "WHERE c.isFlagged = true " +
+           "AND (:afterScore IS NULL OR c.fraudScore < :afterScore " +
+           "     OR (c.fraudScore = :afterScore AND c.id < :afterId)) " +
+           "AND (:eventId IS NULL OR c.event.id = :eventId) " +
+           "AND (:from IS NULL OR c.createdAt >= :from) " +
+           "AND (:to IS NULL OR c.createdAt < :to) " +
+           "ORDER BY c.fraudScore DESC, c.id DESC")
+    List<CheckIn> findFraudQueue(@Param("afterScore") Double afterScore,
+                                 @Param("afterId") Long afterId,
+                                 @Param("eventId") Long eventId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 Pageable pageable);
+    
+    List<CheckIn> findByClientScanIdIn(Collection<String> clientScanIds);
 }
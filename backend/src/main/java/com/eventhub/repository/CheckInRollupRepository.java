@@ -0,0 +1,46 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.CheckInRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CheckInRollupRepository extends JpaRepository<CheckInRollup, Long> {
+    List<CheckInRollup> findByEventIdOrderByBucketMinute(Long eventId);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO check_in_rollups (event_id, bucket_minute, verification_method, check_ins, flagged) " +
+            "VALUES (:eventId, :bucketMinute, :method, :checkIns, :flagged) " +
+            "ON DUPLICATE KEY UPDATE check_ins = check_ins + :checkIns, flagged = flagged + :flagged",
+            nativeQuery = true)
+    void increment(@Param("eventId") Long eventId,
+                   @Param("bucketMinute") LocalDateTime bucketMinute,
+                   @Param("method") String method,
+                   @Param("checkIns") long checkIns,
+                   @Param("flagged") long flagged);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CheckInRollup r WHERE r.eventId = ?1")
+    void deleteByEventId(Long eventId);
+    
+    // Recomputes an event's buckets from check_ins; used to backfill or repair
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO check_in_rollups (event_id, bucket_minute, verification_method, check_ins, flagged) " +
+            "SELECT event_id, DATE_FORMAT(created_at, '%Y-%m-%d %H:%i:00'), " +
+            "CASE WHEN verification_method IN ('QR_CODE', 'GPS', 'MANUAL', 'TICKET_CODE') THEN verification_method ELSE 'UNKNOWN' END, " +
+            "COUNT(*), SUM(CASE WHEN is_flagged THEN 1 ELSE 0 END) " +
+            "FROM check_ins WHERE event_id = :eventId " +
+            "GROUP BY event_id, DATE_FORMAT(created_at, '%Y-%m-%d %H:%i:00'), " +
+            "CASE WHEN verification_method IN ('QR_CODE', 'GPS', 'MANUAL', 'TICKET_CODE') THEN verification_method ELSE 'UNKNOWN' END",
+            nativeQuery = true)
+    void rebuildForEvent(@Param("eventId") Long eventId);
+}
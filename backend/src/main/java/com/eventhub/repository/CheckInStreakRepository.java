@@ -2,10 +2,77 @@ package com.eventhub.repository;
 
 import com.eventhub.entity.CheckInStreak;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CheckInStreakRepository extends JpaRepository<CheckInStreak, Long> {
     Optional<CheckInStreak> findByUserId(Long userId);
+    List<CheckInStreak> findByUserIdIn(Collection<Long> userIds);
+    
+    // Applies check-ins as one upsert under the row lock. MySQL evaluates the assignments
+    // left to right, so current_streak is computed from the previous last_check_in_date
+    // and longest_streak sees the new current_streak. A late-uploaded scan dated before
+    // the last check-in only adds to the totals.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query(value = "INSERT INTO check_in_streaks " +
+            "(user_id, current_streak, longest_streak, last_check_in_date, total_check_ins, total_points) " +
+            "VALUES (:userId, 1, 1, :day, :checkIns, :points) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "current_streak = CASE " +
+            "  WHEN last_check_in_date >= :day THEN current_streak " +
+            "  WHEN last_check_in_date = :dayBefore THEN current_streak + 1 " +
+            "  ELSE 1 END, " +
+            "longest_streak = GREATEST(COALESCE(longest_streak, 0), current_streak), " +
+            "last_check_in_date = CASE " +
+            "  WHEN last_check_in_date >= :day THEN last_check_in_date " +
+            "  ELSE :day END, " +
+            "total_check_ins = COALESCE(total_check_ins, 0) + :checkIns, " +
+            "total_points = COALESCE(total_points, 0) + :points",
+            nativeQuery = true)
+    void recordCheckIns(@Param("userId") Long userId,
+                        @Param("checkIns") int checkIns,
+                        @Param("points") int points,
+                        @Param("day") LocalDate day,
+                        @Param("dayBefore") LocalDate dayBefore);
+    
+    // The upsert above needs this key; ddl-auto only logs it when it can't be created
+    @Query(value = "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = 'check_in_streaks' " +
+            "AND index_name = 'uk_check_in_streaks_user'",
+            nativeQuery = true)
+    long countUserKeyColumns();
+    
+    // Folds each user's duplicate rows into the lowest id; run before deleteDuplicates
+    @Modifying
+    @Query(value = "UPDATE check_in_streaks s JOIN (" +
+            "SELECT user_id, MIN(id) AS keep_id, MAX(current_streak) AS current_streak, " +
+            "MAX(longest_streak) AS longest_streak, MAX(last_check_in_date) AS last_check_in_date, " +
+            "SUM(COALESCE(total_check_ins, 0)) AS total_check_ins, SUM(COALESCE(total_points, 0)) AS total_points " +
+            "FROM check_in_streaks GROUP BY user_id HAVING COUNT(*) > 1) d ON s.id = d.keep_id " +
+            "SET s.current_streak = d.current_streak, s.longest_streak = d.longest_streak, " +
+            "s.last_check_in_date = d.last_check_in_date, s.total_check_ins = d.total_check_ins, " +
+            "s.total_points = d.total_points",
+            nativeQuery = true)
+    int mergeDuplicates();
+    
+    @Modifying
+    @Query(value = "DELETE s FROM check_in_streaks s JOIN (" +
+            "SELECT user_id, MIN(id) AS keep_id FROM check_in_streaks GROUP BY user_id HAVING COUNT(*) > 1) d " +
+            "ON s.user_id = d.user_id AND s.id <> d.keep_id",
+            nativeQuery = true)
+    int deleteDuplicates();
+    
+    @Modifying
+    @Query(value = "ALTER TABLE check_in_streaks ADD CONSTRAINT uk_check_in_streaks_user UNIQUE (user_id)",
+            nativeQuery = true)
+    void addUserKey();
 }
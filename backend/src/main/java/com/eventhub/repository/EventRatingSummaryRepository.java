@@ -0,0 +1,55 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.EventRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface EventRatingSummaryRepository extends JpaRepository<EventRatingSummary, Long> {
+    
+    // Additive upsert; runs inside the review write's transaction so both commit together
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO event_rating_summaries " +
+            "(event_id, rating_sum, rating_count, one_star, two_star, three_star, four_star, five_star, updated_at) " +
+            "VALUES (:eventId, :sum, :count, :one, :two, :three, :four, :five, NOW()) " +
+            "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + :sum, rating_count = rating_count + :count, " +
+            "one_star = one_star + :one, two_star = two_star + :two, three_star = three_star + :three, " +
+            "four_star = four_star + :four, five_star = five_star + :five, updated_at = NOW()",
+            nativeQuery = true)
+    void applyDelta(@Param("eventId") Long eventId,
+                    @Param("sum") long sum,
+                    @Param("count") long count,
+                    @Param("one") long one,
+                    @Param("two") long two,
+                    @Param("three") long three,
+                    @Param("four") long four,
+                    @Param("five") long five);
+    
+    // Recomputes every summary from the reviews table; used by the repair job
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO event_rating_summaries " +
+            "(event_id, rating_sum, rating_count, one_star, two_star, three_star, four_star, five_star, updated_at) " +
+            "SELECT event_id, SUM(rating), COUNT(*), SUM(rating = 1), SUM(rating = 2), SUM(rating = 3), " +
+            "SUM(rating = 4), SUM(rating = 5), NOW() FROM reviews WHERE is_held = FALSE GROUP BY event_id " +
+            "ON DUPLICATE KEY UPDATE rating_sum = VALUES(rating_sum), rating_count = VALUES(rating_count), " +
+            "one_star = VALUES(one_star), two_star = VALUES(two_star), three_star = VALUES(three_star), " +
+            "four_star = VALUES(four_star), five_star = VALUES(five_star), updated_at = NOW()",
+            nativeQuery = true)
+    int rebuildAll();
+    
+    // Zeroes summaries whose event no longer has any published reviews
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE event_rating_summaries s SET rating_sum = 0, rating_count = 0, one_star = 0, " +
+            "two_star = 0, three_star = 0, four_star = 0, five_star = 0, updated_at = NOW() " +
+            "WHERE s.rating_count <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM reviews r WHERE r.event_id = s.event_id AND r.is_held = FALSE)",
+            nativeQuery = true)
+    int clearOrphaned();
+}
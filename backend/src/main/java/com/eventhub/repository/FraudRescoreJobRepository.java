@@ -0,0 +1,11 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.FraudRescoreJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface FraudRescoreJobRepository extends JpaRepository<FraudRescoreJob, Long> {
+    Optional<FraudRescoreJob> findFirstByOrderByIdDesc();
+}
@@ -2,10 +2,22 @@ package com.eventhub.repository;
 
 import com.eventhub.entity.PasswordReset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetRepository extends JpaRepository<PasswordReset, Long> {
     Optional<PasswordReset> findByToken(String token);
+    
+    // Walks idx_password_resets_expires; each call is its own short transaction
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM password_resets WHERE expires_at < :cutoff ORDER BY expires_at LIMIT :limit",
+            nativeQuery = true)
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
@@ -7,6 +7,6 @@ import java.util.List;
 
 @Repository
 public interface PasswordResetRequestRepository extends JpaRepository<PasswordResetRequest, Long> {
-    List<PasswordResetRequest> findByStatus(PasswordResetRequest.RequestStatus status);
+    List<PasswordResetRequest> findByStatusOrderByRequestedAtAsc(PasswordResetRequest.RequestStatus status);
     List<PasswordResetRequest> findByUserId(Long userId);
 }
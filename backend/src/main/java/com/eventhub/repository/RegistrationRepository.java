@@ -2,7 +2,10 @@ package com.eventhub.repository;
 
 import com.eventhub.entity.Registration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,7 +13,28 @@ import java.util.Optional;
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
     List<Registration> findByUserId(Long userId);
     List<Registration> findByEventId(Long eventId);
+    List<Registration> findByStatusOrderByRegisteredAtAsc(Registration.RegistrationStatus status);
     Optional<Registration> findByUserIdAndEventId(Long userId, Long eventId);
     long countByEventId(Long eventId);
+    long countByEventIdAndCheckedInTrue(Long eventId);
     boolean existsByUserIdAndEventId(Long userId, Long eventId);
+    
+    @Query("SELECT r FROM Registration r JOIN FETCH r.user JOIN FETCH r.event " +
+           "WHERE r.id IN ?1 OR r.ticketCode IN ?2")
+    List<Registration> findByIdInOrTicketCodeIn(Collection<Long> ids, Collection<String> ticketCodes);
+    
+    @Query("SELECT r.ticketCode FROM Registration r " +
+           "WHERE r.event.id = ?1 AND r.status = ?2 AND r.ticketCode IS NOT NULL")
+    List<String> findTicketCodes(Long eventId, Registration.RegistrationStatus status);
+    
+    @Query("SELECT r.ticketCode FROM Registration r " +
+           "WHERE r.event.id = ?1 AND r.status = ?2 AND r.ticketCode IS NOT NULL AND r.approvedAt > ?3")
+    List<String> findTicketCodesApprovedAfter(Long eventId, Registration.RegistrationStatus status, LocalDateTime dateTime);
+    
+    // Resolves a batch of door scans in one query; empty IN lists are padded with values that never match
+    default List<Registration> findForCheckIn(Collection<Long> ids, Collection<String> ticketCodes) {
+        return findByIdInOrTicketCodeIn(
+                ids.isEmpty() ? List.of(-1L) : ids,
+                ticketCodes.isEmpty() ? List.of("") : ticketCodes);
+    }
 }
@@ -1,18 +1,26 @@
 package com.eventhub.repository;
 
 import com.eventhub.entity.Review;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByEventId(Long eventId);
-    
     Optional<Review> findByEventIdAndUserId(Long eventId, Long userId);
     
+    // Row lock so concurrent edits of one review apply their rating deltas in order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = ?1")
+    Optional<Review> findByIdForUpdate(Long id);
+    
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.event.id = ?1")
     Double getAverageRatingByEventId(Long eventId);
     
@@ -20,4 +28,49 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Long getReviewCountByEventId(Long eventId);
     
     List<Review> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    List<Review> findByIsHeldTrueOrderByCreatedAtAsc();
+    
+    String FEED_SELECT = "SELECT r.id AS id, u.id AS userId, u.name AS userName, r.rating AS rating, " +
+            "r.comment AS comment, r.createdAt AS createdAt, r.helpfulCount AS helpfulCount " +
+            "FROM Review r JOIN r.user u WHERE r.event.id = :eventId AND r.isHeld = false ";
+    
+    // Keyset pages of an event's reviews; each sort is backed by an (event_id, key, id) index
+    @Query(FEED_SELECT +
+           "AND (:afterCreatedAt IS NULL OR r.createdAt < :afterCreatedAt " +
+           "     OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<FeedRow> findFeedByRecent(@Param("eventId") Long eventId,
+                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
+    @Query(FEED_SELECT +
+           "AND (:afterHelpful IS NULL OR r.helpfulCount < :afterHelpful " +
+           "     OR (r.helpfulCount = :afterHelpful AND r.id < :afterId)) " +
+           "ORDER BY r.helpfulCount DESC, r.id DESC")
+    List<FeedRow> findFeedByHelpful(@Param("eventId") Long eventId,
+                                    @Param("afterHelpful") Integer afterHelpful,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+    
+    @Query(FEED_SELECT +
+           "AND (:afterRating IS NULL OR r.rating < :afterRating " +
+           "     OR (r.rating = :afterRating AND r.id < :afterId)) " +
+           "ORDER BY r.rating DESC, r.id DESC")
+    List<FeedRow> findFeedByRating(@Param("eventId") Long eventId,
+                                   @Param("afterRating") Integer afterRating,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+    
+    // Only the columns a review card shows, without loading the user or event entities
+    interface FeedRow {
+        Long getId();
+        Long getUserId();
+        String getUserName();
+        Integer getRating();
+        String getComment();
+        LocalDateTime getCreatedAt();
+        Integer getHelpfulCount();
+    }
 }
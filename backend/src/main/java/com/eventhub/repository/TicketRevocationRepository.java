@@ -0,0 +1,14 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.TicketRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketRevocationRepository extends JpaRepository<TicketRevocation, Long> {
+    @Query("SELECT t.ticketCode FROM TicketRevocation t WHERE t.eventId = ?1 AND t.revokedAt > ?2")
+    List<String> findTicketCodesRevokedAfter(Long eventId, LocalDateTime dateTime);
+}
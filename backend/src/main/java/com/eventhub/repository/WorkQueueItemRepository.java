@@ -0,0 +1,78 @@
+package com.eventhub.repository;
+
+import com.eventhub.entity.WorkQueueItem;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkQueueItemRepository extends JpaRepository<WorkQueueItem, Long> {
+    
+    // Items another admin is claiming right now are skipped rather than waited on
+    @Query(value = "SELECT * FROM work_queue_items WHERE queue = :queue AND status = 'PENDING' " +
+            "AND lease_until <= :now ORDER BY lease_until, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<WorkQueueItem> lockAvailable(@Param("queue") String queue, @Param("now") LocalDateTime now,
+                                      @Param("limit") int limit);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WorkQueueItem w WHERE w.queue = ?1 AND w.itemId = ?2")
+    Optional<WorkQueueItem> findForUpdate(WorkQueueItem.Queue queue, Long itemId);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO work_queue_items (queue, item_id, status, enqueued_at, lease_until) " +
+            "VALUES (:queue, :itemId, 'PENDING', :now, :now)",
+            nativeQuery = true)
+    void enqueue(@Param("queue") String queue, @Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+    
+    // Picks up pending items created before the queue existed or while it was unreachable
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO work_queue_items (queue, item_id, status, enqueued_at, lease_until) " +
+            "SELECT 'REGISTRATION', r.id, 'PENDING', COALESCE(r.registered_at, NOW()), NOW() " +
+            "FROM registrations r WHERE r.status = 'PENDING'",
+            nativeQuery = true)
+    int enqueueMissingRegistrations();
+    
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO work_queue_items (queue, item_id, status, enqueued_at, lease_until) " +
+            "SELECT 'PASSWORD_RESET', p.id, 'PENDING', COALESCE(p.requested_at, NOW()), NOW() " +
+            "FROM password_reset_requests p WHERE p.status = 'PENDING'",
+            nativeQuery = true)
+    int enqueueMissingPasswordResets();
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM work_queue_items WHERE status = 'DONE' AND completed_at < :cutoff " +
+            "ORDER BY completed_at LIMIT :limit",
+            nativeQuery = true)
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+    
+    @Query(value = "SELECT w.queue AS queue, w.completed_by AS adminId, u.name AS adminName, " +
+            "COUNT(*) AS completed, AVG(TIMESTAMPDIFF(SECOND, w.claimed_at, w.completed_at)) AS avgHandleSeconds " +
+            "FROM work_queue_items w JOIN users u ON u.id = w.completed_by " +
+            "WHERE w.status = 'DONE' AND w.completed_at >= :since " +
+            "GROUP BY w.queue, w.completed_by, u.name ORDER BY completed DESC",
+            nativeQuery = true)
+    List<ThroughputRow> findThroughputSince(@Param("since") LocalDateTime since);
+    
+    long countByQueueAndStatus(WorkQueueItem.Queue queue, WorkQueueItem.Status status);
+    
+    interface ThroughputRow {
+        String getQueue();
+        Long getAdminId();
+        String getAdminName();
+        Long getCompleted();
+        Double getAvgHandleSeconds();
+    }
+}
@@ -0,0 +1,13 @@
+package com.eventhub.security;
+
+import java.security.Principal;
+
+// Principal built from the JWT claims. getName() stays the email, so
+// Authentication.getName() keeps returning what it always did.
+public record AuthenticatedUser(Long id, String email, String role) implements Principal {
+    
+    @Override
+    public String getName() {
+        return email;
+    }
+}
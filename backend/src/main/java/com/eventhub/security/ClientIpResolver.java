@@ -0,0 +1,51 @@
+package com.eventhub.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.List;
+
+// Client address for rate limits and fraud signals. X-Forwarded-For is client-controlled,
+// so it is only read when the connection comes from a configured proxy, and then walked
+// right to left: the first hop that isn't one of our proxies is the address that reached us.
+@Component
+public class ClientIpResolver {
+    
+    private final List<IpAddressMatcher> trustedProxies;
+    
+    public ClientIpResolver(@Value("${security.trusted-proxies:127.0.0.1,::1}") String trustedProxies) {
+        this.trustedProxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+    
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank() || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+    
+    private boolean isTrusted(String address) {
+        try {
+            return trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+        } catch (IllegalArgumentException e) {
+            // Not an IP address, e.g. a garbage header value
+            return false;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.eventhub.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Admission control ahead of the database. It runs after the security chain, which does no
+// database work and adds the CORS headers browsers need to read a 503. Public event reads
+// and registration/check-in writes each get an adaptive concurrency limit; a request over
+// the limit gets an immediate 503 instead of queueing for a pooled connection. Limits follow
+// the gradient between long-term and recent latency: when latency climbs above its baseline
+// the limit shrinks, and while latency holds it grows by about sqrt(limit).
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private static final String RETRY_AFTER_SECONDS = "1";
+    
+    @Value("${concurrency.read.initial-limit:50}")
+    private int readInitialLimit;
+    
+    @Value("${concurrency.read.max-limit:400}")
+    private int readMaxLimit;
+    
+    @Value("${concurrency.write.initial-limit:10}")
+    private int writeInitialLimit;
+    
+    @Value("${concurrency.write.max-limit:50}")
+    private int writeMaxLimit;
+    
+    private AdaptiveLimit readLimit;
+    private AdaptiveLimit writeLimit;
+    
+    @PostConstruct
+    void init() {
+        readLimit = new AdaptiveLimit(readInitialLimit, 10, readMaxLimit);
+        writeLimit = new AdaptiveLimit(writeInitialLimit, 2, writeMaxLimit);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AdaptiveLimit limit = classify(request);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server is busy, please retry shortly\"}");
+            return;
+        }
+        
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // Failed requests release their slot but are not latency samples
+            limit.release(completed ? System.nanoTime() - start : -1);
+        }
+    }
+    
+    // Null for traffic that is not limited; the SSE stream is a GET and stays open for minutes
+    private AdaptiveLimit classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if ("GET".equals(method) && (path.equals("/api/events") || path.startsWith("/api/events/"))) {
+            return readLimit;
+        }
+        if (!"GET".equals(method) && !"OPTIONS".equals(method)
+                && (path.startsWith("/api/registrations") || path.startsWith("/api/check-in"))) {
+            return writeLimit;
+        }
+        return null;
+    }
+    
+    private static class AdaptiveLimit {
+        private static final double TOLERANCE = 1.5;  // Latency may grow this much before the limit shrinks
+        private static final double SMOOTHING = 0.2;
+        private static final int LONG_WINDOW = 600;
+        private static final int SHORT_WINDOW = 10;
+        
+        private final int minLimit;
+        private final int maxLimit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile int limit;
+        
+        private double estimatedLimit;
+        private double longRtt;
+        private double shortRtt;
+        private long samples;
+        
+        AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.estimatedLimit = initialLimit;
+            this.limit = initialLimit;
+        }
+        
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+        
+        void release(long rttNanos) {
+            int inFlightBefore = inFlight.getAndDecrement();
+            if (rttNanos > 0) {
+                update(rttNanos, inFlightBefore);
+            }
+        }
+        
+        private synchronized void update(long rttNanos, int inFlightBefore) {
+            samples++;
+            if (samples == 1) {
+                longRtt = rttNanos;
+                shortRtt = rttNanos;
+            } else {
+                longRtt += (rttNanos - longRtt) / Math.min(samples, LONG_WINDOW);
+                shortRtt += (rttNanos - shortRtt) / Math.min(samples, SHORT_WINDOW);
+            }
+            
+            // After an overload the baseline is inflated; let it come back down quickly
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            
+            // Lightly used: latency says nothing about whether the limit is too low
+            if (inFlightBefore < estimatedLimit / 2) {
+                return;
+            }
+            
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+            limit = (int) estimatedLimit;
+        }
+    }
+}
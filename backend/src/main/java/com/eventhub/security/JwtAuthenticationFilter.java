@@ -1,9 +1,11 @@
 package com.eventhub.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.eventhub.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -19,6 +21,7 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -34,12 +37,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         String token = authHeader.substring(7);
         
-        if (jwtUtil.isTokenValid(token)) {
-            String email = jwtUtil.extractEmail(token);
-            String role = jwtUtil.extractRole(token);
+        Claims claims = jwtUtil.parseToken(token);
+        if (claims != null && !tokenRevocationService.isRevoked(claims)) {
+            String role = claims.get("role", String.class);
+            AuthenticatedUser principal = new AuthenticatedUser(
+                claims.get("uid", Long.class), claims.getSubject(), role);
             
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                email,
+                principal,
                 null,
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
             );
@@ -1,66 +1,86 @@
 package com.eventhub.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
     
+    private static final int MAX_VERIFIED_TOKENS = 10000;
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    // Recently verified tokens, so repeat requests with the same token skip HMAC and JSON parsing.
+    // Keyed by the full token, which ends in its own signature, so a hit is an exact match.
+    // Lookups take no lock; when full, expired entries are pruned, and if that frees nothing
+    // the cache starts over.
+    private final Map<String, Claims> verifiedTokens = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
     
-    public String generateToken(String email, String role) {
+    public String generateToken(Long userId, String email, String role) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put("uid", userId);
         claims.put("role", role);
         
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
-    public String extractEmail(String token) {
-        return extractClaims(token).getSubject();
-    }
-    
-    public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
-    }
-    
-    public boolean isTokenValid(String token) {
+    // Verifies the token once and returns its claims, or null if it is invalid or expired
+    public Claims parseToken(String token) {
+        Claims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                return cached;
+            }
+            verifiedTokens.remove(token);
+            return null;
+        }
+        
         try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+                pruneVerifiedTokens();
+            }
+            verifiedTokens.put(token, claims);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
     
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
-    }
-    
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private void pruneVerifiedTokens() {
+        Date now = new Date();
+        verifiedTokens.values().removeIf(claims -> claims.getExpiration() != null && !claims.getExpiration().after(now));
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            verifiedTokens.clear();
+        }
     }
 }
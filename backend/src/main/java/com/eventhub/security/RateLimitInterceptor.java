@@ -0,0 +1,62 @@
+package com.eventhub.security;
+
+import com.eventhub.exception.RateLimitExceededException;
+import com.eventhub.service.RateLimitService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    
+    private final RateLimitService rateLimitService;
+    private final ClientIpResolver clientIpResolver;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+        
+        Duration window = Duration.ofSeconds(rateLimited.windowSeconds());
+        List<RateLimitService.Limit> limits = new ArrayList<>();
+        for (RateLimited.Scope scope : rateLimited.scopes()) {
+            limits.add(new RateLimitService.Limit(
+                    rateLimited.name() + ":" + scopeKey(scope, request), rateLimited.capacity(), window));
+        }
+        
+        RateLimitService.Result result = rateLimitService.tryAcquire(limits);
+        response.setHeader("X-RateLimit-Limit", String.valueOf(rateLimited.capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(result.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(result.resetSeconds()));
+        if (!result.allowed()) {
+            throw new RateLimitExceededException("Too many requests, please try again later", result.retryAfterSeconds());
+        }
+        return true;
+    }
+    
+    private String scopeKey(RateLimited.Scope scope, HttpServletRequest request) {
+        if (scope == RateLimited.Scope.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + clientIpResolver.resolve(request);
+    }
+}
@@ -0,0 +1,27 @@
+package com.eventhub.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Applies a token-bucket limit to a controller method: at most `capacity` requests per
+// `windowSeconds`, refilled continuously. Each scope gets its own bucket and a request
+// must pass all of them. Enforced by RateLimitInterceptor.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    
+    String name();
+    
+    int capacity();
+    
+    long windowSeconds();
+    
+    Scope[] scopes() default {Scope.IP};
+    
+    enum Scope {
+        IP,
+        USER // Signed-in user; falls back to IP for anonymous requests
+    }
+}
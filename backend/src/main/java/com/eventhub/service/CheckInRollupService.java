@@ -0,0 +1,127 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.CheckInActivity;
+import com.eventhub.dto.CheckInTimelineBucket;
+import com.eventhub.entity.CheckInRollup;
+import com.eventhub.repository.CheckInRollupRepository;
+import com.eventhub.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-minute arrival counts per event. Check-ins are counted in memory and flushed
+// every few seconds as additive upserts, so several nodes can write the same bucket.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckInRollupService {
+    
+    private static final String UNKNOWN_METHOD = "UNKNOWN";
+    // The method is client-supplied; anything else is bucketed as UNKNOWN
+    private static final Set<String> KNOWN_METHODS = Set.of("QR_CODE", "GPS", "MANUAL", "TICKET_CODE");
+    
+    private final CheckInRollupRepository rollupRepository;
+    private final EventRepository eventRepository;
+    
+    private final Map<BucketKey, long[]> pending = new ConcurrentHashMap<>();
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(CheckInActivity activity) {
+        if (!CheckInActivity.CHECK_IN.equals(activity.getType())) {
+            return;
+        }
+        LocalDateTime at = activity.getOccurredAt() != null ? activity.getOccurredAt() : LocalDateTime.now();
+        String method = activity.getVerificationMethod() != null && KNOWN_METHODS.contains(activity.getVerificationMethod())
+                ? activity.getVerificationMethod() : UNKNOWN_METHOD;
+        BucketKey key = new BucketKey(activity.getEventId(), at.truncatedTo(ChronoUnit.MINUTES), method);
+        boolean flagged = Boolean.TRUE.equals(activity.getFlagged());
+        
+        pending.compute(key, (k, counts) -> {
+            long[] updated = counts != null ? counts : new long[2];
+            updated[0]++;
+            if (flagged) {
+                updated[1]++;
+            }
+            return updated;
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${rollup.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        int failed = 0;
+        RuntimeException lastError = null;
+        for (BucketKey key : new ArrayList<>(pending.keySet())) {
+            long[] counts = pending.remove(key);
+            if (counts == null) {
+                continue;
+            }
+            try {
+                rollupRepository.increment(key.eventId(), key.minute(), key.method(), counts[0], counts[1]);
+            } catch (RuntimeException e) {
+                // Put the counts back so the next flush retries them; other buckets still go out
+                pending.merge(key, counts, (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+                failed++;
+                lastError = e;
+            }
+        }
+        if (failed > 0) {
+            log.warn("Could not flush {} check-in rollup buckets: {}", failed, lastError.getMessage());
+        }
+    }
+    
+    public List<CheckInTimelineBucket> getTimeline(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found");
+        }
+        
+        TreeMap<LocalDateTime, CheckInTimelineBucket> buckets = new TreeMap<>();
+        for (CheckInRollup rollup : rollupRepository.findByEventIdOrderByBucketMinute(eventId)) {
+            add(buckets, rollup.getBucketMinute(), rollup.getVerificationMethod(), rollup.getCheckIns(), rollup.getFlagged());
+        }
+        // Include counts that haven't been flushed yet
+        pending.forEach((key, counts) -> {
+            if (key.eventId().equals(eventId)) {
+                add(buckets, key.minute(), key.method(), counts[0], counts[1]);
+            }
+        });
+        
+        buckets.values().forEach(b -> b.setFlaggedRatio(b.getCheckIns() > 0 ? (double) b.getFlagged() / b.getCheckIns() : 0.0));
+        return new ArrayList<>(buckets.values());
+    }
+    
+    @Transactional
+    public void rebuild(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found");
+        }
+        pending.keySet().removeIf(key -> key.eventId().equals(eventId));
+        rollupRepository.deleteByEventId(eventId);
+        rollupRepository.rebuildForEvent(eventId);
+    }
+    
+    private void add(Map<LocalDateTime, CheckInTimelineBucket> buckets, LocalDateTime minute,
+                     String method, long checkIns, long flagged) {
+        CheckInTimelineBucket bucket = buckets.computeIfAbsent(minute, m -> {
+            CheckInTimelineBucket b = new CheckInTimelineBucket();
+            b.setMinute(m);
+            b.setCheckIns(0L);
+            b.setFlagged(0L);
+            b.setByVerificationMethod(new TreeMap<>());
+            return b;
+        });
+        bucket.setCheckIns(bucket.getCheckIns() + checkIns);
+        bucket.setFlagged(bucket.getFlagged() + flagged);
+        bucket.getByVerificationMethod().merge(method, checkIns, Long::sum);
+    }
+    
+    private record BucketKey(Long eventId, LocalDateTime minute, String method) {}
+}
@@ -1,16 +1,26 @@
 package com.eventhub.service;
 
 import com.eventhub.dto.BadgeResponse;
+import com.eventhub.dto.BatchCheckInRequest;
+import com.eventhub.dto.BatchCheckInResponse;
+import com.eventhub.dto.BatchCheckInResult;
+import com.eventhub.dto.CheckInActivity;
 import com.eventhub.dto.CheckInRequest;
 import com.eventhub.dto.CheckInResponse;
+import com.eventhub.dto.CheckInScan;
+import com.eventhub.dto.FraudQueuePage;
 import com.eventhub.entity.*;
 import com.eventhub.repository.*;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,17 +30,24 @@ public class CheckInService {
     private final CheckInRepository checkInRepository;
     private final BadgeRepository badgeRepository;
     private final CheckInStreakRepository streakRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final EventRepository eventRepository;
     private final RegistrationRepository registrationRepository;
+    private final GeofenceService geofenceService;
+    private final FraudScoringService fraudScoringService;
+    private final DeviceClusterService deviceClusterService;
+    private final ApplicationEventPublisher eventPublisher;
     
-    // GPS verification radius in meters (100 meters)
-    private static final double GPS_RADIUS = 100.0;
+    private static final int POINTS_PER_CHECK_IN = 10;
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
+    private static final long MAX_CLOCK_SKEW_MINUTES = 5;
     
-    public CheckInResponse checkIn(CheckInRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Offline scanners may upload late, but not arbitrarily old scans
+    @Value("${checkin.max-scan-age-hours:72}")
+    private long maxScanAgeHours;
+    
+    public CheckInResponse checkIn(CheckInRequest request, String ipAddress) {
+        User user = currentUserService.getUser();
         
         Event event = eventRepository.findById(request.getEventId())
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -52,7 +69,7 @@ public class CheckInService {
             throw new RuntimeException("Already checked in today for this event");
         }
         
-        return performCheckIn(user, event, request);
+        return performCheckIn(user, event, request, ipAddress, true);
     }
     
     public CheckInResponse adminCheckIn(Long registrationId, CheckInRequest request) {
@@ -75,161 +92,287 @@ public class CheckInService {
             throw new RuntimeException("Already checked in today for this event");
         }
         
-        return performCheckIn(user, event, request);
+        return performCheckIn(user, event, request, null, false);
     }
     
-    private CheckInResponse performCheckIn(User user, Event event, CheckInRequest request) {
-        // Create check-in
-        CheckIn checkIn = new CheckIn();
-        checkIn.setUser(user);
-        checkIn.setEvent(event);
-        checkIn.setLatitude(request.getLatitude());
-        checkIn.setLongitude(request.getLongitude());
-        checkIn.setDeviceInfo(request.getDeviceInfo());
-        checkIn.setVerificationMethod(request.getVerificationMethod());
+    @Transactional
+    public BatchCheckInResponse adminBatchCheckIn(BatchCheckInRequest request) {
+        List<CheckInScan> scans = request.getScans();
+        BatchCheckInResult[] results = new BatchCheckInResult[scans.size()];
+        
+        // Scans uploaded again by an offline scanner return the check-in they already created
+        Set<String> clientScanIds = scans.stream()
+                .map(CheckInScan::getClientScanId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, CheckIn> replayed = clientScanIds.isEmpty()
+                ? Collections.emptyMap()
+                : checkInRepository.findByClientScanIdIn(clientScanIds).stream()
+                        .collect(Collectors.toMap(CheckIn::getClientScanId, ci -> ci));
+        Set<String> seenScanIds = new HashSet<>();
+        
+        // One lookup for every registration referenced by id or ticket code
+        Set<Long> registrationIds = new HashSet<>();
+        Set<String> ticketCodes = new HashSet<>();
+        for (CheckInScan scan : scans) {
+            if (scan.getRegistrationId() != null) {
+                registrationIds.add(scan.getRegistrationId());
+            } else if (scan.getTicketCode() != null) {
+                ticketCodes.add(scan.getTicketCode());
+            }
+        }
         
-        // Verify location if GPS provided
-        if (request.getLatitude() != null && request.getLongitude() != null) {
-            boolean isLocationValid = verifyLocation(event, request.getLatitude(), request.getLongitude());
-            checkIn.setIsVerified(isLocationValid);
-            
-            if (!isLocationValid) {
-                checkIn.setFlagReason("Location mismatch");
-                checkIn.setFraudScore(50.0);
+        Map<Long, Registration> registrationsById = new HashMap<>();
+        Map<String, Registration> registrationsByTicket = new HashMap<>();
+        for (Registration r : registrationRepository.findForCheckIn(registrationIds, ticketCodes)) {
+            registrationsById.put(r.getId(), r);
+            if (r.getTicketCode() != null) {
+                registrationsByTicket.put(r.getTicketCode(), r);
             }
         }
         
-        // Fraud detection
-        double fraudScore = calculateFraudScore(user, checkIn);
-        checkIn.setFraudScore(fraudScore);
-        checkIn.setIsFlagged(fraudScore > 70.0);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestAcceptedScan = now.minusHours(maxScanAgeHours);
+        Map<Integer, Registration> resolved = new LinkedHashMap<>();
+        Map<Integer, LocalDateTime> scanTimes = new HashMap<>();
+        for (int i = 0; i < scans.size(); i++) {
+            CheckInScan scan = scans.get(i);
+            String clientScanId = scan.getClientScanId();
+            if (clientScanId != null && replayed.containsKey(clientScanId)) {
+                results[i] = BatchCheckInResult.replayed(i, scan, mapToResponse(replayed.get(clientScanId), new ArrayList<>(), null));
+                continue;
+            }
+            if (clientScanId != null && !seenScanIds.add(clientScanId)) {
+                results[i] = BatchCheckInResult.failure(i, scan, "Duplicate scan id in batch");
+                continue;
+            }
+            
+            Registration registration = scan.getRegistrationId() != null
+                    ? registrationsById.get(scan.getRegistrationId())
+                    : registrationsByTicket.get(scan.getTicketCode());
+            
+            if (registration == null) {
+                results[i] = BatchCheckInResult.failure(i, scan, "Registration not found");
+            } else if (scan.getScannedAt() != null && scan.getScannedAt().isBefore(oldestAcceptedScan)) {
+                results[i] = BatchCheckInResult.failure(i, scan, "Scan is older than " + maxScanAgeHours + " hours");
+            } else if (scan.getScannedAt() != null && scan.getScannedAt().isAfter(now.plusMinutes(MAX_CLOCK_SKEW_MINUTES))) {
+                results[i] = BatchCheckInResult.failure(i, scan, "Scan time is in the future");
+            } else if (registration.getStatus() != Registration.RegistrationStatus.APPROVED) {
+                results[i] = BatchCheckInResult.failure(i, scan, "Registration not approved");
+            } else {
+                resolved.put(i, registration);
+                scanTimes.put(i, scanTime(scan.getScannedAt(), now));
+            }
+        }
         
-        CheckIn saved = checkInRepository.save(checkIn);
+        if (resolved.isEmpty()) {
+            return BatchCheckInResponse.of(Arrays.asList(results));
+        }
         
-        // Update streak
-        updateStreak(user);
+        // One query covers same-day duplicates and the hour of history fraud scoring looks at,
+        // for every scan date in the batch
+        LocalDateTime earliestScan = Collections.min(scanTimes.values());
+        LocalDateTime startOfDay = earliestScan.toLocalDate().atStartOfDay();
+        LocalDateTime oneHourBefore = earliestScan.minusHours(1);
+        LocalDateTime since = startOfDay.isBefore(oneHourBefore) ? startOfDay : oneHourBefore;
+        
+        Set<Long> userIds = resolved.values().stream()
+                .map(r -> r.getUser().getId())
+                .collect(Collectors.toSet());
+        
+        Map<Long, List<CheckIn>> recentByUser = checkInRepository.findByUserIdsAfter(userIds, since).stream()
+                .collect(Collectors.groupingBy(ci -> ci.getUser().getId(), Collectors.toCollection(ArrayList::new)));
+        Set<String> earnedBadges = badgeRepository.findByUserIdIn(userIds).stream()
+                .map(b -> b.getUser().getId() + ":" + b.getBadgeType())
+                .collect(Collectors.toCollection(HashSet::new));
+        
+        List<CheckIn> toSave = new ArrayList<>();
+        Map<Long, TreeMap<LocalDate, Integer>> checkInsByUser = new HashMap<>();
+        Map<Integer, CheckIn> pending = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Registration> entry : resolved.entrySet()) {
+            int index = entry.getKey();
+            CheckInScan scan = scans.get(index);
+            User user = entry.getValue().getUser();
+            Event event = entry.getValue().getEvent();
+            LocalDateTime scannedAt = scanTimes.get(index);
+            LocalDate scanDate = scannedAt.toLocalDate();
+            
+            List<CheckIn> recent = recentByUser.computeIfAbsent(user.getId(), id -> new ArrayList<>());
+            boolean alreadyCheckedInThatDay = recent.stream()
+                    .anyMatch(ci -> ci.getEvent().getId().equals(event.getId())
+                            && ci.getCreatedAt().toLocalDate().equals(scanDate));
+            if (alreadyCheckedInThatDay) {
+                results[index] = BatchCheckInResult.failure(index, scan, "Already checked in that day for this event");
+                continue;
+            }
+            
+            CheckIn checkIn = buildCheckIn(user, event, scan.getLatitude(), scan.getLongitude(),
+                    scan.getDeviceInfo(), scan.getVerificationMethod());
+            checkIn.setClientScanId(scan.getClientScanId());
+            checkIn.setCreatedAt(scannedAt);
+            applyFraudScore(checkIn, recent.stream()
+                    .filter(ci -> !ci.getCreatedAt().isBefore(scannedAt.minusHours(1))
+                            && !ci.getCreatedAt().isAfter(scannedAt))
+                    .collect(Collectors.toList()));
+            
+            // Later scans in the same batch see this one as history
+            recent.add(checkIn);
+            checkInsByUser.computeIfAbsent(user.getId(), id -> new TreeMap<>()).merge(scanDate, 1, Integer::sum);
+            
+            toSave.add(checkIn);
+            pending.put(index, checkIn);
+        }
         
-        // Check for badges
-        List<BadgeResponse> newBadges = checkForBadges(user);
+        checkInRepository.saveAll(toSave);
+        toSave.forEach(this::publishActivity);
+        
+        // Scans are coalesced into one atomic increment per user and scan date, applied oldest
+        // date first so a multi-day upload extends the streak, then all streaks are read back at once
+        checkInsByUser.forEach((userId, byDate) -> byDate.forEach((day, count) -> streakRepository.recordCheckIns(
+                userId, count, count * POINTS_PER_CHECK_IN, day, day.minusDays(1))));
+        Map<Long, CheckInStreak> streaksByUser = checkInsByUser.isEmpty()
+                ? Collections.emptyMap()
+                : streakRepository.findByUserIdIn(checkInsByUser.keySet()).stream()
+                        .collect(Collectors.toMap(s -> s.getUser().getId(), s -> s, (a, b) -> a));
+        
+        for (Map.Entry<Integer, CheckIn> entry : pending.entrySet()) {
+            CheckIn saved = entry.getValue();
+            User user = saved.getUser();
+            CheckInStreak streak = streaksByUser.get(user.getId());
+            List<BadgeResponse> newBadges = checkForBadges(user, streak,
+                    type -> !earnedBadges.add(user.getId() + ":" + type));
+            results[entry.getKey()] = BatchCheckInResult.success(entry.getKey(), scans.get(entry.getKey()),
+                    mapToResponse(saved, newBadges, streak));
+        }
         
-        return mapToResponse(saved, newBadges);
+        return BatchCheckInResponse.of(Arrays.asList(results));
     }
     
-    private boolean verifyLocation(Event event, Double latitude, Double longitude) {
-        if (event.getLatitude() == null || event.getLongitude() == null) {
-            return true; // No location set for event
+    // Scanner clocks drift, so times slightly ahead are accepted but never stored ahead of now
+    private LocalDateTime scanTime(LocalDateTime scannedAt, LocalDateTime now) {
+        if (scannedAt == null) {
+            return now;
+        }
+        return scannedAt.isAfter(now) ? now : scannedAt;
+    }
+    
+    private CheckInResponse performCheckIn(User user, Event event, CheckInRequest request,
+                                           String ipAddress, boolean selfCheckIn) {
+        CheckIn checkIn = buildCheckIn(user, event, request.getLatitude(), request.getLongitude(),
+                request.getDeviceInfo(), request.getVerificationMethod());
+        checkIn.setIpAddress(ipAddress);
+        
+        // Fraud detection
+        applyFraudScore(checkIn, checkInRepository.findCheckInsAfter(user.getId(), LocalDateTime.now().minusHours(1)));
+        
+        // Admin scans all come from the door device, so only self check-ins are clustered
+        if (selfCheckIn) {
+            applyClusterScore(checkIn, deviceClusterService.record(
+                    event.getId(), user.getId(), request.getDeviceInfo(), ipAddress));
         }
         
-        double distance = calculateDistance(
-            event.getLatitude(), event.getLongitude(),
-            latitude, longitude
-        );
+        CheckIn saved = checkInRepository.save(checkIn);
+        publishActivity(saved);
         
-        return distance <= GPS_RADIUS;
+        // Update streak
+        CheckInStreak streak = updateStreak(user);
+        
+        // Check for badges
+        List<BadgeResponse> newBadges = checkForBadges(user, streak);
+        
+        return mapToResponse(saved, newBadges, streak);
     }
     
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Earth's radius in km
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c * 1000; // Convert to meters
+    private void publishActivity(CheckIn checkIn) {
+        eventPublisher.publishEvent(CheckInActivity.checkIn(
+                checkIn.getEvent().getId(), Boolean.TRUE.equals(checkIn.getIsFlagged()),
+                checkIn.getVerificationMethod(), checkIn.getCreatedAt()));
     }
     
-    private double calculateFraudScore(User user, CheckIn checkIn) {
-        double score = 0.0;
-        
-        // Check for multiple check-ins in short time
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-        long recentCheckIns = checkInRepository.findCheckInsAfter(user.getId(), oneHourAgo).size();
-        if (recentCheckIns > 3) {
-            score += 30.0; // Suspicious activity
-        }
+    private CheckIn buildCheckIn(User user, Event event, Double latitude, Double longitude,
+                                 String deviceInfo, String verificationMethod) {
+        CheckIn checkIn = new CheckIn();
+        checkIn.setUser(user);
+        checkIn.setEvent(event);
+        checkIn.setLatitude(latitude);
+        checkIn.setLongitude(longitude);
+        checkIn.setDeviceInfo(deviceInfo);
+        checkIn.setVerificationMethod(verificationMethod);
         
-        // Check for impossible travel (multiple events far apart in short time)
-        List<CheckIn> lastCheckIns = checkInRepository.findByUserId(user.getId());
-        if (!lastCheckIns.isEmpty()) {
-            CheckIn lastCheckIn = lastCheckIns.get(lastCheckIns.size() - 1);
-            long minutesDiff = java.time.temporal.ChronoUnit.MINUTES.between(lastCheckIn.getCreatedAt(), LocalDateTime.now());
+        // Verify location if GPS provided
+        if (latitude != null && longitude != null) {
+            boolean isLocationValid = verifyLocation(event, latitude, longitude);
+            checkIn.setIsVerified(isLocationValid);
             
-            if (lastCheckIn.getLatitude() != null && checkIn.getLatitude() != null) {
-                double distance = calculateDistance(
-                    lastCheckIn.getLatitude(), lastCheckIn.getLongitude(),
-                    checkIn.getLatitude(), checkIn.getLongitude()
-                );
-                
-                // If more than 100km in less than 1 hour
-                if (distance > 100000 && minutesDiff < 60) {
-                    score += 40.0;
-                }
+            if (!isLocationValid) {
+                checkIn.setFlagReason("Location mismatch");
+                checkIn.setFraudScore(50.0);
             }
         }
         
-        // Location verification
-        if (checkIn.getIsVerified() != null && !checkIn.getIsVerified()) {
-            score += 20.0;
+        return checkIn;
+    }
+    
+    private void applyFraudScore(CheckIn checkIn, List<CheckIn> lastHourCheckIns) {
+        double fraudScore = fraudScoringService.score(checkIn, lastHourCheckIns);
+        checkIn.setFraudScore(fraudScore);
+        checkIn.setIsFlagged(fraudScoringService.isFlagged(fraudScore));
+    }
+    
+    private void applyClusterScore(CheckIn checkIn, DeviceClusterService.ClusterSignals signals) {
+        double clusterScore = fraudScoringService.clusterScore(signals);
+        if (clusterScore == 0) {
+            return;
         }
         
-        return Math.min(score, 100.0);
+        double fraudScore = Math.min(checkIn.getFraudScore() + clusterScore, 100.0);
+        checkIn.setClusterScore(clusterScore);
+        checkIn.setFraudScore(fraudScore);
+        checkIn.setIsFlagged(fraudScoringService.isFlagged(fraudScore));
+        if (checkIn.getFlagReason() == null) {
+            checkIn.setFlagReason("Device or IP shared across accounts");
+        }
     }
     
-    private void updateStreak(User user) {
-        CheckInStreak streak = streakRepository.findByUserId(user.getId())
-                .orElse(new CheckInStreak());
-        
+    private boolean verifyLocation(Event event, Double latitude, Double longitude) {
+        return geofenceService.isInside(event, latitude, longitude);
+    }
+    
+    // The streak row is updated with a single atomic upsert, so concurrent check-ins for
+    // the same user (self check-in plus admin scan) can't lose increments
+    private CheckInStreak updateStreak(User user) {
         LocalDate today = LocalDate.now();
-        LocalDate lastCheckIn = streak.getLastCheckInDate();
-        
-        if (lastCheckIn == null) {
-            // First check-in
-            streak.setCurrentStreak(1);
-            streak.setLongestStreak(1);
-        } else if (lastCheckIn.equals(today.minusDays(1))) {
-            // Consecutive day
-            streak.setCurrentStreak(streak.getCurrentStreak() + 1);
-            if (streak.getCurrentStreak() > streak.getLongestStreak()) {
-                streak.setLongestStreak(streak.getCurrentStreak());
-            }
-        } else if (!lastCheckIn.equals(today)) {
-            // Streak broken
-            streak.setCurrentStreak(1);
-        }
-        
-        streak.setLastCheckInDate(today);
-        streak.setTotalCheckIns(streak.getTotalCheckIns() + 1);
-        streak.setTotalPoints(streak.getTotalPoints() + 10); // 10 points per check-in
-        streak.setUser(user);
+        streakRepository.recordCheckIns(user.getId(), 1, POINTS_PER_CHECK_IN, today, today.minusDays(1));
         
-        streakRepository.save(streak);
+        return streakRepository.findByUserId(user.getId())
+                .orElseThrow(() -> new RuntimeException("Streak not found"));
     }
     
-    private List<BadgeResponse> checkForBadges(User user) {
+    private List<BadgeResponse> checkForBadges(User user, CheckInStreak streak) {
+        return checkForBadges(user, streak, type -> badgeRepository.existsByUserIdAndBadgeType(user.getId(), type));
+    }
+    
+    private List<BadgeResponse> checkForBadges(User user, CheckInStreak streak, Predicate<String> alreadyEarned) {
         List<BadgeResponse> newBadges = new ArrayList<>();
-        CheckInStreak streak = streakRepository.findByUserId(user.getId()).orElse(null);
-        
-        if (streak == null) return newBadges;
         
         // First check-in badge
-        if (streak.getTotalCheckIns() == 1 && !badgeRepository.existsByUserIdAndBadgeType(user.getId(), "FIRST_CHECKIN")) {
+        if (streak.getTotalCheckIns() == 1 && !alreadyEarned.test("FIRST_CHECKIN")) {
             Badge badge = createBadge(user, "FIRST_CHECKIN", "First Check-in", "You've checked in for the first time!", "🎉", 50);
             newBadges.add(mapBadgeToResponse(badge));
         }
         
         // Streak badges
-        if (streak.getCurrentStreak() == 5 && !badgeRepository.existsByUserIdAndBadgeType(user.getId(), "STREAK_5")) {
+        if (streak.getCurrentStreak() == 5 && !alreadyEarned.test("STREAK_5")) {
             Badge badge = createBadge(user, "STREAK_5", "5-Day Streak", "5 consecutive check-ins!", "🔥", 100);
             newBadges.add(mapBadgeToResponse(badge));
         }
         
-        if (streak.getCurrentStreak() == 10 && !badgeRepository.existsByUserIdAndBadgeType(user.getId(), "STREAK_10")) {
+        if (streak.getCurrentStreak() == 10 && !alreadyEarned.test("STREAK_10")) {
             Badge badge = createBadge(user, "STREAK_10", "10-Day Streak", "10 consecutive check-ins!", "🌟", 200);
             newBadges.add(mapBadgeToResponse(badge));
         }
         
-        if (streak.getCurrentStreak() == 30 && !badgeRepository.existsByUserIdAndBadgeType(user.getId(), "STREAK_30")) {
+        if (streak.getCurrentStreak() == 30 && !alreadyEarned.test("STREAK_30")) {
             Badge badge = createBadge(user, "STREAK_30", "30-Day Streak", "30 consecutive check-ins!", "👑", 500);
             newBadges.add(mapBadgeToResponse(badge));
         }
@@ -248,7 +391,7 @@ public class CheckInService {
         return badgeRepository.save(badge);
     }
     
-    private CheckInResponse mapToResponse(CheckIn checkIn, List<BadgeResponse> newBadges) {
+    private CheckInResponse mapToResponse(CheckIn checkIn, List<BadgeResponse> newBadges, CheckInStreak streak) {
         CheckInResponse response = new CheckInResponse();
         response.setId(checkIn.getId());
         response.setUserId(checkIn.getUser().getId());
@@ -261,9 +404,9 @@ public class CheckInService {
         response.setFraudScore(checkIn.getFraudScore());
         response.setIsFlagged(checkIn.getIsFlagged());
         response.setFlagReason(checkIn.getFlagReason());
+        response.setReviewOutcome(checkIn.getReviewOutcome() != null ? checkIn.getReviewOutcome().name() : null);
         response.setNewBadges(newBadges);
         
-        CheckInStreak streak = streakRepository.findByUserId(checkIn.getUser().getId()).orElse(null);
         if (streak != null) {
             response.setCurrentStreak(streak.getCurrentStreak());
             response.setTotalCheckIns(streak.getTotalCheckIns());
@@ -286,9 +429,7 @@ public class CheckInService {
     }
 
     public Map<String, Object> getUserStats() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         CheckInStreak streak = streakRepository.findByUserId(user.getId()).orElse(null);
         
@@ -311,15 +452,14 @@ public class CheckInService {
     }
     
     public List<BadgeResponse> getUserBadges() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         return badgeRepository.findByUserId(user.getId()).stream()
                 .map(this::mapBadgeToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getLeaderboard() {
         return streakRepository.findAll().stream()
                 .sorted((a, b) -> b.getTotalPoints().compareTo(a.getTotalPoints()))
@@ -338,17 +478,77 @@ public class CheckInService {
     }
     
     public List<CheckInResponse> getEventCheckIns(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found");
+        }
         
-        return checkInRepository.findByEventId(eventId).stream()
-                .map(checkIn -> mapToResponse(checkIn, new ArrayList<>()))
-                .collect(Collectors.toList());
+        return mapAllToResponse(checkInRepository.findByEventId(eventId));
     }
     
     public List<CheckInResponse> getFlaggedCheckIns() {
-        return checkInRepository.findByIsFlaggedTrue().stream()
-                .map(checkIn -> mapToResponse(checkIn, new ArrayList<>()))
+        return getFraudQueue(null, null, null, null, MAX_QUEUE_PAGE_SIZE).getItems();
+    }
+    
+    public FraudQueuePage getFraudQueue(String cursor, Long eventId, LocalDate from, LocalDate to, int size) {
+        Double afterScore = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = cursor.split(":");
+                afterScore = Double.parseDouble(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        
+        int pageSize = Math.max(1, Math.min(size, MAX_QUEUE_PAGE_SIZE));
+        List<CheckIn> page = checkInRepository.findFraudQueue(afterScore, afterId, eventId,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                PageRequest.of(0, pageSize));
+        
+        FraudQueuePage result = new FraudQueuePage();
+        result.setItems(mapAllToResponse(page));
+        if (page.size() == pageSize) {
+            CheckIn last = page.get(page.size() - 1);
+            result.setNextCursor(last.getFraudScore() + ":" + last.getId());
+        }
+        return result;
+    }
+    
+    public CheckInResponse reviewFlaggedCheckIn(Long checkInId, CheckIn.ReviewOutcome outcome) {
+        User admin = currentUserService.getUser();
+        
+        CheckIn checkIn = checkInRepository.findById(checkInId)
+                .orElseThrow(() -> new RuntimeException("Check-in not found"));
+        
+        if (!Boolean.TRUE.equals(checkIn.getIsFlagged())) {
+            throw new RuntimeException("Check-in is not in the review queue");
+        }
+        
+        checkIn.setIsFlagged(false);
+        checkIn.setReviewOutcome(outcome);
+        checkIn.setReviewedBy(admin.getId());
+        checkIn.setReviewedAt(LocalDateTime.now());
+        
+        CheckIn updated = checkInRepository.save(checkIn);
+        return mapAllToResponse(List.of(updated)).get(0);
+    }
+    
+    // Loads the streaks for every user in the list with a single IN query
+    private List<CheckInResponse> mapAllToResponse(List<CheckIn> checkIns) {
+        Set<Long> userIds = checkIns.stream()
+                .map(ci -> ci.getUser().getId())
+                .collect(Collectors.toSet());
+        
+        Map<Long, CheckInStreak> streaksByUser = userIds.isEmpty()
+                ? Collections.emptyMap()
+                : streakRepository.findByUserIdIn(userIds).stream()
+                        .collect(Collectors.toMap(s -> s.getUser().getId(), s -> s, (a, b) -> a));
+        
+        return checkIns.stream()
+                .map(checkIn -> mapToResponse(checkIn, new ArrayList<>(), streaksByUser.get(checkIn.getUser().getId())))
                 .collect(Collectors.toList());
     }
 }
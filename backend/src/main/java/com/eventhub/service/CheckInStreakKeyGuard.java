@@ -0,0 +1,39 @@
+package com.eventhub.service;
+
+import com.eventhub.repository.CheckInStreakRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// check_in_streaks used to get duplicate rows per user from a read-then-insert race, and those
+// stop ddl-auto from adding the unique user key the streak upsert relies on. Without the key
+// every check-in would insert another row. Before the app takes traffic, duplicates are merged
+// into one row per user and the key is added; if it still isn't there, startup fails.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CheckInStreakKeyGuard {
+    
+    private final CheckInStreakRepository streakRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void ensureUserKey() {
+        if (streakRepository.countUserKeyColumns() > 0) {
+            return;
+        }
+        
+        Integer removed = transactionTemplate.execute(status -> {
+            streakRepository.mergeDuplicates();
+            return streakRepository.deleteDuplicates();
+        });
+        log.warn("Merged duplicate check-in streaks ({} rows removed), adding the unique user key", removed);
+        transactionTemplate.executeWithoutResult(status -> streakRepository.addUserKey());
+        
+        if (streakRepository.countUserKeyColumns() == 0) {
+            throw new IllegalStateException("check_in_streaks is missing unique key uk_check_in_streaks_user");
+        }
+    }
+}
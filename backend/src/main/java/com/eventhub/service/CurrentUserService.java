@@ -0,0 +1,69 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.User;
+import com.eventhub.repository.UserRepository;
+import com.eventhub.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The signed-in user. The id comes straight from the JWT principal; full user records are
+// cached for a short TTL and evicted whenever the account is changed. Cached users are
+// detached, so use them read-only or as association references, never to save changes.
+@Service
+@RequiredArgsConstructor
+public class CurrentUserService {
+    
+    private static final int MAX_CACHED_USERS = 10000;
+    
+    private final UserRepository userRepository;
+    
+    @Value("${auth.user-cache-ttl-ms:60000}")
+    private long ttlMillis;
+    
+    private final Map<Long, CachedUser> users = new ConcurrentHashMap<>();
+    
+    public Long getUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.id() != null) {
+            return principal.id();
+        }
+        // Tokens issued before the id claim existed
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"))
+                .getId();
+    }
+    
+    public User getUser() {
+        return getUser(getUserId());
+    }
+    
+    public User getUser(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = users.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.user();
+        }
+        
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (users.size() >= MAX_CACHED_USERS) {
+            users.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        if (users.size() < MAX_CACHED_USERS) {
+            users.put(userId, new CachedUser(user, now + ttlMillis));
+        }
+        return user;
+    }
+    
+    // Call after any change to a user's account, role or credentials
+    public void evict(Long userId) {
+        users.remove(userId);
+    }
+    
+    private record CachedUser(User user, long expiresAt) {}
+}
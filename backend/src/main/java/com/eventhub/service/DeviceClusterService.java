@@ -0,0 +1,99 @@
+package com.eventhub.service;
+
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Streaming estimate of how many distinct accounts checked in to an event from the same
+// device fingerprint or IP address. Each key holds a 64-register HyperLogLog (64 bytes,
+// about 13% error), and both the events and the keys per event are LRU-bounded, so
+// memory stays flat no matter how large the event is. Nothing here touches the database.
+@Service
+public class DeviceClusterService {
+    
+    private static final int MAX_EVENTS = 50;
+    private static final int MAX_KEYS_PER_EVENT = 4096;
+    
+    private final Map<Long, EventClusters> events = lruMap(MAX_EVENTS);
+    
+    // Records the check-in and returns the estimated distinct users for its device and IP
+    public ClusterSignals record(Long eventId, Long userId, String deviceInfo, String ipAddress) {
+        EventClusters clusters;
+        synchronized (events) {
+            clusters = events.computeIfAbsent(eventId, id -> new EventClusters());
+        }
+        
+        long userHash = mix(userId);
+        long deviceUsers = deviceInfo != null && !deviceInfo.isBlank()
+                ? clusters.add(clusters.devices, normalize(deviceInfo), userHash) : 0;
+        long ipUsers = ipAddress != null && !ipAddress.isBlank()
+                ? clusters.add(clusters.ips, ipAddress.trim(), userHash) : 0;
+        return new ClusterSignals(deviceUsers, ipUsers);
+    }
+    
+    public record ClusterSignals(long usersOnDevice, long usersOnIp) {}
+    
+    private static String normalize(String deviceInfo) {
+        return deviceInfo.trim().toLowerCase();
+    }
+    
+    // SplitMix64 finalizer; spreads sequential user ids over the whole hash space
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    private static <K, V> Map<K, V> lruMap(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    private static class EventClusters {
+        private final Map<String, HyperLogLog> devices = lruMap(MAX_KEYS_PER_EVENT);
+        private final Map<String, HyperLogLog> ips = lruMap(MAX_KEYS_PER_EVENT);
+        
+        synchronized long add(Map<String, HyperLogLog> counters, String key, long userHash) {
+            HyperLogLog hll = counters.computeIfAbsent(key, k -> new HyperLogLog());
+            hll.add(userHash);
+            return hll.estimate();
+        }
+    }
+    
+    private static class HyperLogLog {
+        private static final int P = 6;
+        private static final int M = 1 << P;
+        private static final double ALPHA = 0.709; // Bias correction for 64 registers
+        
+        private final byte[] registers = new byte[M];
+        
+        void add(long hash) {
+            int index = (int) (hash >>> (64 - P));
+            int rank = Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1;
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+        }
+        
+        long estimate() {
+            double sum = 0;
+            int zeros = 0;
+            for (byte register : registers) {
+                sum += 1.0 / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+            double estimate = ALPHA * M * M / sum;
+            if (estimate <= 2.5 * M && zeros > 0) {
+                estimate = M * Math.log((double) M / zeros); // Linear counting for small sets
+            }
+            return Math.round(estimate);
+        }
+    }
+}
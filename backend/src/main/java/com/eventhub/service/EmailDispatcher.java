@@ -0,0 +1,176 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.EmailOutbox;
+import com.eventhub.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Sends queued mail off the request path. Each round claims a batch of due rows with
+// SKIP LOCKED and pushes their next attempt out by a lease, so nodes never send the same
+// row and a crash mid-send only delays it. The batch then goes out in one send call, which
+// reuses a single SMTP connection. Failures back off exponentially until MAX_ATTEMPTS.
+// Runs on its own thread, not the shared scheduler, so a slow mail server can't hold up
+// revocation sync or the flush jobs, and each run sends at most max-batches-per-run batches.
+// Sent and failed rows hold reset links, so they are purged after a retention period.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailDispatcher {
+    
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final long LEASE_MINUTES = 5;
+    private static final int PURGE_BATCH_SIZE = 1000;
+    
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${mail.outbox.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+    
+    @Value("${mail.outbox.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+    
+    @Value("${mail.outbox.retention-days:7}")
+    private int retentionDays;
+    
+    private ScheduledExecutorService executor;
+    
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::dispatchSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+    
+    public void dispatch() {
+        List<EmailOutbox> batch;
+        int batches = 0;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize && ++batches < maxBatchesPerRun);
+    }
+    
+    // Deletes in small batches, each its own statement, so the purge never holds long locks
+    @Scheduled(cron = "${mail.outbox.purge-cron:0 25 * * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = emailOutboxRepository.deleteFinishedBefore(cutoff, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Purged {} sent or failed emails older than {}", total, cutoff);
+        }
+    }
+    
+    // An exception escaping a scheduled task would cancel every later run
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.error("Email dispatch failed", e);
+        }
+    }
+    
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepository.lockDue(now, batchSize);
+            if (!due.isEmpty()) {
+                emailOutboxRepository.lease(due.stream().map(EmailOutbox::getId).toList(), now.plusMinutes(LEASE_MINUTES));
+            }
+            return due;
+        });
+    }
+    
+    private void send(List<EmailOutbox> batch) {
+        List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox email : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            messages.add(message);
+        }
+        
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(messages, e);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox email = batch.get(i);
+            Exception failure = failures.get(messages.get(i));
+            if (failure == null) {
+                email.setStatus(EmailOutbox.Status.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else {
+                recordFailure(email, failure, now);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+    }
+    
+    private void recordFailure(EmailOutbox email, Exception failure, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        String error = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+        email.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (attempts >= MAX_ATTEMPTS) {
+            email.setStatus(EmailOutbox.Status.FAILED);
+            log.warn("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), attempts, error);
+        } else {
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << (attempts - 1));
+            email.setNextAttemptAt(now.plusSeconds(backoff));
+        }
+    }
+    
+    private static Map<Object, Exception> allFailed(Collection<SimpleMailMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new HashMap<>();
+        messages.forEach(message -> failures.put(message, e));
+        return failures;
+    }
+}
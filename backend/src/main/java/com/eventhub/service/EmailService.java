@@ -1,50 +1,46 @@
 package com.eventhub.service;
 
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import com.eventhub.entity.EmailOutbox;
+import com.eventhub.repository.EmailOutboxRepository;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
+// Queues mail in the email_outbox table; EmailDispatcher sends it. Call from inside the
+// caller's transaction so the mail is queued only if the business change commits.
 @Service
 @RequiredArgsConstructor
 public class EmailService {
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
     
     public void sendVerificationEmail(String email, String verificationLink, String emailType) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Verify your EventHub Pro " + emailType + " email");
-        message.setText("Click the link below to verify your " + emailType + " email:\n\n" + verificationLink);
-        mailSender.send(message);
+        enqueue(email, "Verify your EventHub Pro " + emailType + " email",
+                "Click the link below to verify your " + emailType + " email:\n\n" + verificationLink);
     }
     
     public void sendPasswordResetEmail(String recoveryEmail, String resetLink) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(recoveryEmail);
-        message.setSubject("Reset your EventHub Pro password");
-        message.setText("Click the link below to reset your password:\n\n" + resetLink + "\n\nThis link expires in 15 minutes.");
-        mailSender.send(message);
+        enqueue(recoveryEmail, "Reset your EventHub Pro password",
+                "Click the link below to reset your password:\n\n" + resetLink + "\n\nThis link expires in 15 minutes.");
     }
     
     public void sendPasswordChangedNotification(String loginEmail, String recoveryEmail) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(loginEmail);
-        message.setSubject("Your password has been successfully changed");
-        message.setText("Your EventHub Pro password has been successfully changed. If you did not make this change, please contact support immediately.");
-        mailSender.send(message);
-        
-        SimpleMailMessage recoveryMessage = new SimpleMailMessage();
-        recoveryMessage.setTo(recoveryEmail);
-        recoveryMessage.setSubject("Your password has been successfully changed");
-        recoveryMessage.setText("Your EventHub Pro password has been successfully changed. If you did not make this change, please contact support immediately.");
-        mailSender.send(recoveryMessage);
+        String subject = "Your password has been successfully changed";
+        String body = "Your EventHub Pro password has been successfully changed. If you did not make this change, please contact support immediately.";
+        enqueue(loginEmail, subject, body);
+        if (recoveryEmail != null) {
+            enqueue(recoveryEmail, subject, body);
+        }
     }
     
     public void sendRecoveryEmailChangeNotification(String oldRecoveryEmail) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(oldRecoveryEmail);
-        message.setSubject("Your recovery email has been changed");
-        message.setText("Your EventHub Pro recovery email has been changed. If you did not make this change, please contact support immediately.");
-        mailSender.send(message);
+        enqueue(oldRecoveryEmail, "Your recovery email has been changed",
+                "Your EventHub Pro recovery email has been changed. If you did not make this change, please contact support immediately.");
+    }
+    
+    private void enqueue(String recipient, String subject, String body) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(recipient);
+        email.setSubject(subject);
+        email.setBody(body);
+        emailOutboxRepository.save(email);
     }
 }
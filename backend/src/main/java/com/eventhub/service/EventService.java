@@ -6,12 +6,11 @@ import com.eventhub.entity.Event;
 import com.eventhub.entity.User;
 import com.eventhub.repository.EventRepository;
 import com.eventhub.repository.RegistrationRepository;
-import com.eventhub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,20 +19,24 @@ import java.util.stream.Collectors;
 public class EventService {
     
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final RegistrationRepository registrationRepository;
+    private final GeofenceService geofenceService;
     
+    @Transactional(readOnly = true)
     public List<EventResponse> getAllEvents() {
         return eventRepository.findAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public Page<EventResponse> getAllEventsPaginated(Pageable pageable) {
         return eventRepository.findAll(pageable)
                 .map(this::mapToResponse);
     }
     
+    @Transactional(readOnly = true)
     public EventResponse getEventById(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -42,9 +45,7 @@ public class EventService {
     
     public EventResponse createEvent(EventRequest request) {
         try {
-            String email = SecurityContextHolder.getContext().getAuthentication().getName();
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User user = currentUserService.getUser();
             
             Event event = new Event();
             event.setTitle(request.getTitle());
@@ -56,6 +57,7 @@ public class EventService {
             event.setPrice(request.getPrice());
             event.setCategory(request.getCategory());
             event.setImageUrl(request.getImageUrl());
+            applyVenue(event, request);
             event.setIsFeatured(request.getIsFeatured() != null ? request.getIsFeatured() : false);
             
             if (request.getStatus() != null && !request.getStatus().isEmpty()) {
@@ -92,6 +94,7 @@ public class EventService {
         event.setPrice(request.getPrice());
         event.setCategory(request.getCategory());
         event.setImageUrl(request.getImageUrl());
+        updateVenue(event, request);
         event.setIsFeatured(request.getIsFeatured() != null ? request.getIsFeatured() : false);
         event.setUpdatedAt(java.time.LocalDateTime.now());
         
@@ -105,6 +108,29 @@ public class EventService {
     
     public void deleteEvent(Long id) {
         eventRepository.deleteById(id);
+        geofenceService.evict(id);
+    }
+    
+    private void applyVenue(Event event, EventRequest request) {
+        event.setLatitude(request.getLatitude());
+        event.setLongitude(request.getLongitude());
+        event.setGeofenceRadius(request.getGeofenceRadius());
+        event.setVenueZones(geofenceService.writeZones(request.getVenueZones()));
+    }
+    
+    // Edits that leave the venue out (like the admin event form) keep the stored geofence;
+    // an empty zone list clears the zones
+    private void updateVenue(Event event, EventRequest request) {
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            event.setLatitude(request.getLatitude());
+            event.setLongitude(request.getLongitude());
+        }
+        if (request.getGeofenceRadius() != null) {
+            event.setGeofenceRadius(request.getGeofenceRadius());
+        }
+        if (request.getVenueZones() != null) {
+            event.setVenueZones(geofenceService.writeZones(request.getVenueZones()));
+        }
     }
     
     private EventResponse mapToResponse(Event event) {
@@ -119,6 +145,10 @@ public class EventService {
         response.setPrice(event.getPrice());
         response.setCategory(event.getCategory());
         response.setImageUrl(event.getImageUrl());
+        response.setLatitude(event.getLatitude());
+        response.setLongitude(event.getLongitude());
+        response.setGeofenceRadius(event.getGeofenceRadius());
+        response.setVenueZones(geofenceService.readZones(event.getVenueZones()));
         response.setStatus(event.getStatus().name());
         response.setIsFeatured(event.getIsFeatured());
         response.setCreatedByName(event.getCreatedBy().getName());
@@ -0,0 +1,280 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.FraudRescoreStatus;
+import com.eventhub.entity.CheckIn;
+import com.eventhub.entity.FraudRescoreJob;
+import com.eventhub.entity.User;
+import com.eventhub.repository.FraudRescoreJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Re-scores historical check-ins after the fraud rules change. Check-ins are read in
+// id-ordered chunks; each chunk is scored in parallel per user, replaying that user's
+// previous hour of check-ins in time order, and changed scores are written back in a
+// JDBC batch. The job checkpoints after every chunk so it can be paused and resumed.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FraudRescoreService {
+    
+    private static final int MAX_CHUNK_SIZE = 5000;
+    
+    private static final String CHUNK_SQL =
+            "SELECT id, user_id, created_at, latitude, longitude, is_verified, fraud_score, cluster_score, is_flagged, review_outcome " +
+            "FROM check_ins WHERE id > :afterId AND id <= :maxId ORDER BY id LIMIT :limit";
+    
+    private static final String HISTORY_SQL =
+            "SELECT id, user_id, created_at, latitude, longitude, is_verified, fraud_score, cluster_score, is_flagged, review_outcome " +
+            "FROM check_ins WHERE user_id IN (:userIds) AND created_at >= :from AND created_at <= :to";
+    
+    // Reviewed check-ins keep the admin's decision
+    private static final String UPDATE_SQL =
+            "UPDATE check_ins SET fraud_score = :score, is_flagged = :flagged WHERE id = :id AND review_outcome IS NULL";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final FraudRescoreJobRepository jobRepository;
+    private final FraudScoringService fraudScoringService;
+    private final CurrentUserService currentUserService;
+    
+    private final ExecutorService driver = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "fraud-rescore");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ForkJoinPool scoringPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean pauseRequested;
+    
+    public FraudRescoreStatus start(int chunkSize, long pauseMillis, boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A re-scoring job is already running");
+        }
+        
+        try {
+            User admin = currentUserService.getUser();
+            
+            FraudRescoreJob job;
+            if (resume) {
+                job = jobRepository.findFirstByOrderByIdDesc()
+                        .filter(j -> j.getStatus() != FraudRescoreJob.JobStatus.COMPLETED)
+                        .orElseThrow(() -> new RuntimeException("No unfinished re-scoring job to resume"));
+                job.setError(null);
+            } else {
+                job = new FraudRescoreJob();
+                job.setStartedBy(admin.getId());
+                job.setMaxId(jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COALESCE(MAX(id), 0) FROM check_ins", Long.class));
+            }
+            job.setStatus(FraudRescoreJob.JobStatus.RUNNING);
+            job.setChunkSize(Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE)));
+            job.setPauseMillis(Math.max(0, pauseMillis));
+            job.setUpdatedAt(LocalDateTime.now());
+            FraudRescoreJob saved = jobRepository.save(job);
+            
+            pauseRequested = false;
+            driver.submit(() -> run(saved.getId()));
+            return mapToStatus(saved);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+    
+    public FraudRescoreStatus pause() {
+        pauseRequested = true;
+        return getStatus();
+    }
+    
+    public FraudRescoreStatus getStatus() {
+        return jobRepository.findFirstByOrderByIdDesc()
+                .map(this::mapToStatus)
+                .orElseThrow(() -> new RuntimeException("No re-scoring job found"));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pauseRequested = true;
+        driver.shutdown();
+        scoringPool.shutdown();
+    }
+    
+    private void run(Long jobId) {
+        FraudRescoreJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            running.set(false);
+            return;
+        }
+        
+        try {
+            while (job.getLastProcessedId() < job.getMaxId()) {
+                if (pauseRequested) {
+                    job.setStatus(FraudRescoreJob.JobStatus.PAUSED);
+                    return;
+                }
+                
+                List<Row> chunk = jdbcTemplate.query(CHUNK_SQL, new MapSqlParameterSource()
+                        .addValue("afterId", job.getLastProcessedId())
+                        .addValue("maxId", job.getMaxId())
+                        .addValue("limit", job.getChunkSize()), this::mapRow);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                
+                List<Row> changed = scoreChunk(chunk);
+                if (!changed.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, changed.stream()
+                            .map(row -> new MapSqlParameterSource()
+                                    .addValue("id", row.checkIn.getId())
+                                    .addValue("score", row.checkIn.getFraudScore())
+                                    .addValue("flagged", row.checkIn.getIsFlagged()))
+                            .toArray(SqlParameterSource[]::new));
+                }
+                
+                job.setLastProcessedId(chunk.get(chunk.size() - 1).checkIn.getId());
+                job.setProcessed(job.getProcessed() + chunk.size());
+                job.setChanged(job.getChanged() + changed.size());
+                job.setUpdatedAt(LocalDateTime.now());
+                job = jobRepository.save(job);
+                
+                if (job.getPauseMillis() > 0) {
+                    Thread.sleep(job.getPauseMillis());
+                }
+            }
+            job.setStatus(FraudRescoreJob.JobStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.setStatus(FraudRescoreJob.JobStatus.PAUSED);
+        } catch (Exception e) {
+            log.error("Fraud re-scoring job {} failed", jobId, e);
+            job.setStatus(FraudRescoreJob.JobStatus.FAILED);
+            String error = String.valueOf(e.getMessage());
+            job.setError(error.length() > 255 ? error.substring(0, 255) : error); // Default VARCHAR(255) column
+        } finally {
+            try {
+                job.setUpdatedAt(LocalDateTime.now());
+                jobRepository.save(job);
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+    
+    // Returns the rows whose score or flag changed
+    private List<Row> scoreChunk(List<Row> chunk) throws Exception {
+        LocalDateTime from = chunk.stream().map(r -> r.checkIn.getCreatedAt()).min(Comparator.naturalOrder()).get().minusHours(1);
+        LocalDateTime to = chunk.stream().map(r -> r.checkIn.getCreatedAt()).max(Comparator.naturalOrder()).get();
+        Map<Long, List<Row>> chunkByUser = chunk.stream().collect(Collectors.groupingBy(r -> r.userId));
+        
+        Map<Long, List<Row>> historyByUser = jdbcTemplate.query(HISTORY_SQL, new MapSqlParameterSource()
+                        .addValue("userIds", chunkByUser.keySet())
+                        .addValue("from", Timestamp.valueOf(from))
+                        .addValue("to", Timestamp.valueOf(to)), this::mapRow)
+                .stream()
+                .collect(Collectors.groupingBy(r -> r.userId));
+        
+        return scoringPool.submit(() -> chunkByUser.entrySet().parallelStream()
+                .flatMap(entry -> scoreUser(entry.getValue(),
+                        historyByUser.getOrDefault(entry.getKey(), Collections.emptyList())).stream())
+                .collect(Collectors.toList())).get();
+    }
+    
+    // Replays one user's check-ins in time order against a sliding one-hour window of history
+    private List<Row> scoreUser(List<Row> rows, List<Row> history) {
+        Comparator<Row> byTime = Comparator.comparing((Row r) -> r.checkIn.getCreatedAt()).thenComparing(r -> r.checkIn.getId());
+        List<Row> sortedRows = new ArrayList<>(rows);
+        sortedRows.sort(byTime);
+        List<CheckIn> sortedHistory = history.stream().sorted(byTime).map(r -> r.checkIn).collect(Collectors.toList());
+        
+        List<Row> changed = new ArrayList<>();
+        int lo = 0;
+        int hi = 0;
+        for (Row row : sortedRows) {
+            CheckIn checkIn = row.checkIn;
+            LocalDateTime windowStart = checkIn.getCreatedAt().minusHours(1);
+            while (lo < sortedHistory.size() && sortedHistory.get(lo).getCreatedAt().isBefore(windowStart)) {
+                lo++;
+            }
+            while (hi < sortedHistory.size() && isBefore(sortedHistory.get(hi), checkIn)) {
+                hi++;
+            }
+            
+            // The cluster part depends on other accounts at check-in time, so the stored value is reused
+            double score = Math.min(fraudScoringService.score(checkIn, sortedHistory.subList(Math.min(lo, hi), hi))
+                    + row.clusterScore, 100.0);
+            boolean flagged = fraudScoringService.isFlagged(score);
+            if (!row.reviewed && (Math.abs(score - row.previousScore) > 1e-9 || flagged != row.previousFlagged)) {
+                checkIn.setFraudScore(score);
+                checkIn.setIsFlagged(flagged);
+                changed.add(row);
+            }
+        }
+        return changed;
+    }
+    
+    private boolean isBefore(CheckIn a, CheckIn b) {
+        int cmp = a.getCreatedAt().compareTo(b.getCreatedAt());
+        return cmp < 0 || (cmp == 0 && a.getId() < b.getId());
+    }
+    
+    private Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+        CheckIn checkIn = new CheckIn();
+        checkIn.setId(rs.getLong("id"));
+        checkIn.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        checkIn.setLatitude(rs.getObject("latitude", Double.class));
+        checkIn.setLongitude(rs.getObject("longitude", Double.class));
+        checkIn.setIsVerified(rs.getObject("is_verified", Boolean.class));
+        
+        Row row = new Row();
+        row.checkIn = checkIn;
+        row.userId = rs.getLong("user_id");
+        row.previousScore = rs.getDouble("fraud_score");
+        row.clusterScore = rs.getDouble("cluster_score");
+        row.previousFlagged = rs.getBoolean("is_flagged");
+        row.reviewed = rs.getString("review_outcome") != null;
+        return row;
+    }
+    
+    private FraudRescoreStatus mapToStatus(FraudRescoreJob job) {
+        FraudRescoreStatus status = new FraudRescoreStatus();
+        status.setJobId(job.getId());
+        status.setStatus(job.getStatus().name());
+        status.setLastProcessedId(job.getLastProcessedId());
+        status.setMaxId(job.getMaxId());
+        status.setProcessed(job.getProcessed());
+        status.setChanged(job.getChanged());
+        status.setPercentComplete(job.getMaxId() > 0
+                ? Math.min(100.0, Math.round(job.getLastProcessedId() * 1000.0 / job.getMaxId()) / 10.0)
+                : 100.0);
+        status.setChunkSize(job.getChunkSize());
+        status.setPauseMillis(job.getPauseMillis());
+        status.setStartedAt(job.getStartedAt());
+        status.setUpdatedAt(job.getUpdatedAt());
+        status.setFinishedAt(job.getFinishedAt());
+        status.setError(job.getError());
+        return status;
+    }
+    
+    private static class Row {
+        private CheckIn checkIn;
+        private long userId;
+        private double previousScore;
+        private double clusterScore;
+        private boolean previousFlagged;
+        private boolean reviewed;
+    }
+}
@@ -0,0 +1,96 @@
+package com.eventhub.service;
+
+import com.eventhub.entity.CheckIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+// Fraud rules shared by live check-ins and the historical re-scoring job.
+// Thresholds are configurable so they can be tuned and replayed over old check-ins.
+@Service
+public class FraudScoringService {
+    
+    @Value("${fraud.recent-check-ins-threshold:3}")
+    private int recentCheckInsThreshold;
+    
+    @Value("${fraud.travel-distance-meters:100000}")
+    private double travelDistanceMeters;
+    
+    @Value("${fraud.flag-threshold:70}")
+    private double flagThreshold;
+    
+    @Value("${fraud.shared-device-users:3}")
+    private long sharedDeviceUsers;
+    
+    @Value("${fraud.shared-ip-users:15}")
+    private long sharedIpUsers;
+    
+    // lastHourCheckIns is the user's check-in history from the hour before this one; older
+    // check-ins can't trigger either rule, so the full history is never needed
+    public double score(CheckIn checkIn, List<CheckIn> lastHourCheckIns) {
+        double score = 0.0;
+        
+        // Check for multiple check-ins in short time
+        long recentCheckIns = lastHourCheckIns.size();
+        if (recentCheckIns > recentCheckInsThreshold) {
+            score += 30.0; // Suspicious activity
+        }
+        
+        // Check for impossible travel (multiple events far apart in short time)
+        Optional<CheckIn> last = lastHourCheckIns.stream().max(Comparator.comparing(CheckIn::getCreatedAt));
+        if (last.isPresent()) {
+            CheckIn lastCheckIn = last.get();
+            long minutesDiff = ChronoUnit.MINUTES.between(lastCheckIn.getCreatedAt(), checkIn.getCreatedAt());
+            
+            if (lastCheckIn.getLatitude() != null && checkIn.getLatitude() != null) {
+                double distance = calculateDistance(
+                    lastCheckIn.getLatitude(), lastCheckIn.getLongitude(),
+                    checkIn.getLatitude(), checkIn.getLongitude()
+                );
+                
+                // If too far apart in less than 1 hour
+                if (distance > travelDistanceMeters && minutesDiff < 60) {
+                    score += 40.0;
+                }
+            }
+        }
+        
+        // Location verification
+        if (checkIn.getIsVerified() != null && !checkIn.getIsVerified()) {
+            score += 20.0;
+        }
+        
+        return Math.min(score, 100.0);
+    }
+    
+    // Extra points when one device or IP is checking in many accounts at the same event.
+    // The IP limit is looser because venue Wi-Fi puts many honest attendees behind one address.
+    public double clusterScore(DeviceClusterService.ClusterSignals signals) {
+        double score = 0.0;
+        if (signals.usersOnDevice() > sharedDeviceUsers) {
+            score += 40.0;
+        }
+        if (signals.usersOnIp() > sharedIpUsers) {
+            score += 20.0;
+        }
+        return score;
+    }
+    
+    public boolean isFlagged(double score) {
+        return score > flagThreshold;
+    }
+    
+    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        final int R = 6371; // Earth's radius in km
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return R * c * 1000; // Convert to meters
+    }
+}
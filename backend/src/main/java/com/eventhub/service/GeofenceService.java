@@ -0,0 +1,217 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.VenueZone;
+import com.eventhub.entity.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class GeofenceService {
+    
+    private final ObjectMapper objectMapper;
+    
+    // GPS verification radius in meters when the event doesn't set one
+    public static final double DEFAULT_RADIUS = 100.0;
+    private static final double EARTH_RADIUS = 6371000.0; // meters
+    private static final double METERS_PER_DEGREE = EARTH_RADIUS * Math.PI / 180.0;
+    
+    private final Map<Long, CompiledGeofence> cache = new ConcurrentHashMap<>();
+    
+    public boolean isInside(Event event, double latitude, double longitude) {
+        CompiledGeofence fence = compiled(event);
+        if (fence == null) {
+            return true; // No location set for event
+        }
+        return fence.contains(latitude, longitude);
+    }
+    
+    public void evict(Long eventId) {
+        cache.remove(eventId);
+    }
+    
+    public List<VenueZone> readZones(String json) {
+        if (json == null || json.isBlank()) {
+            return Collections.emptyList();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<VenueZone>>() {});
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid venue zones: " + e.getOriginalMessage());
+        }
+    }
+    
+    public String writeZones(List<VenueZone> zones) {
+        if (zones == null || zones.isEmpty()) {
+            return null;
+        }
+        zones.forEach(this::validate);
+        try {
+            return objectMapper.writeValueAsString(zones);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid venue zones: " + e.getOriginalMessage());
+        }
+    }
+    
+    private void validate(VenueZone zone) {
+        if (zone.getPolygon() != null && !zone.getPolygon().isEmpty()) {
+            if (zone.getPolygon().size() < 3) {
+                throw new RuntimeException("Venue polygon needs at least 3 points");
+            }
+            for (List<Double> point : zone.getPolygon()) {
+                if (point == null || point.size() != 2 || point.contains(null)) {
+                    throw new RuntimeException("Venue polygon points must be [latitude, longitude]");
+                }
+            }
+        } else if (zone.getLatitude() == null || zone.getLongitude() == null
+                || zone.getRadius() == null || zone.getRadius() <= 0) {
+            throw new RuntimeException("Circular venue zone needs latitude, longitude and a positive radius");
+        }
+    }
+    
+    // Compiled geometry is cached per event and rebuilt when the event is updated
+    private CompiledGeofence compiled(Event event) {
+        CompiledGeofence cached = event.getId() != null ? cache.get(event.getId()) : null;
+        if (cached != null && Objects.equals(cached.version, event.getUpdatedAt())) {
+            return cached.zones.length == 0 ? null : cached;
+        }
+        
+        CompiledGeofence fence = compile(event);
+        if (event.getId() != null) {
+            cache.put(event.getId(), fence);
+        }
+        return fence.zones.length == 0 ? null : fence;
+    }
+    
+    private CompiledGeofence compile(Event event) {
+        List<Zone> zones = new ArrayList<>();
+        for (VenueZone zone : readZones(event.getVenueZones())) {
+            if (zone.getPolygon() != null && !zone.getPolygon().isEmpty()) {
+                zones.add(new PolygonZone(zone.getPolygon()));
+            } else {
+                zones.add(new CircleZone(zone.getLatitude(), zone.getLongitude(), zone.getRadius()));
+            }
+        }
+        
+        if (zones.isEmpty() && event.getLatitude() != null && event.getLongitude() != null) {
+            double radius = event.getGeofenceRadius() != null ? event.getGeofenceRadius() : DEFAULT_RADIUS;
+            zones.add(new CircleZone(event.getLatitude(), event.getLongitude(), radius));
+        }
+        
+        return new CompiledGeofence(event.getUpdatedAt(), zones.toArray(new Zone[0]));
+    }
+    
+    private static class CompiledGeofence {
+        private final LocalDateTime version;
+        private final Zone[] zones;
+        private final double minLat, maxLat, minLon, maxLon;
+        
+        CompiledGeofence(LocalDateTime version, Zone[] zones) {
+            this.version = version;
+            this.zones = zones;
+            double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+            double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+            for (Zone zone : zones) {
+                minLat = Math.min(minLat, zone.minLat);
+                maxLat = Math.max(maxLat, zone.maxLat);
+                minLon = Math.min(minLon, zone.minLon);
+                maxLon = Math.max(maxLon, zone.maxLon);
+            }
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+        }
+        
+        boolean contains(double lat, double lon) {
+            if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+                return false;
+            }
+            for (Zone zone : zones) {
+                if (zone.inBounds(lat, lon) && zone.contains(lat, lon)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    private abstract static class Zone {
+        protected double minLat, maxLat, minLon, maxLon;
+        
+        boolean inBounds(double lat, double lon) {
+            return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+        }
+        
+        abstract boolean contains(double lat, double lon);
+    }
+    
+    // Equirectangular distance: accurate to well under a meter at venue scale, no trig per check
+    private static class CircleZone extends Zone {
+        private final double lat, lon, radiusSquared, metersPerLonDegree;
+        
+        CircleZone(double lat, double lon, double radius) {
+            this.lat = lat;
+            this.lon = lon;
+            this.radiusSquared = radius * radius;
+            this.metersPerLonDegree = METERS_PER_DEGREE * Math.cos(Math.toRadians(lat));
+            
+            double latDelta = radius / METERS_PER_DEGREE;
+            double lonDelta = metersPerLonDegree > 0 ? radius / metersPerLonDegree : 180.0;
+            this.minLat = lat - latDelta;
+            this.maxLat = lat + latDelta;
+            this.minLon = lon - lonDelta;
+            this.maxLon = lon + lonDelta;
+        }
+        
+        @Override
+        boolean contains(double lat, double lon) {
+            double dy = (lat - this.lat) * METERS_PER_DEGREE;
+            double dx = (lon - this.lon) * metersPerLonDegree;
+            return dx * dx + dy * dy <= radiusSquared;
+        }
+    }
+    
+    // Ray casting on raw coordinates; venues are small enough for the plane approximation
+    private static class PolygonZone extends Zone {
+        private final double[] lats, lons;
+        
+        PolygonZone(List<List<Double>> points) {
+            int n = points.size();
+            this.lats = new double[n];
+            this.lons = new double[n];
+            minLat = minLon = Double.MAX_VALUE;
+            maxLat = maxLon = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                lats[i] = points.get(i).get(0);
+                lons[i] = points.get(i).get(1);
+                minLat = Math.min(minLat, lats[i]);
+                maxLat = Math.max(maxLat, lats[i]);
+                minLon = Math.min(minLon, lons[i]);
+                maxLon = Math.max(maxLon, lons[i]);
+            }
+        }
+        
+        @Override
+        boolean contains(double lat, double lon) {
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > lat) != (lats[j] > lat)
+                        && lon < (lons[j] - lons[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+}
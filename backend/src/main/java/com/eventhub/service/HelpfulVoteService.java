@@ -0,0 +1,150 @@
+package com.eventhub.service;
+
+import com.eventhub.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Write-behind "helpful" votes. A click never touches the database: it is checked against
+// the review's pending voters and a bounded cache of recently flushed voters, then added to
+// the pending set, which is both the dedupe set and the counter. A periodic flush drops votes
+// for reviews that are gone or held, records the rest with INSERT IGNORE against a unique
+// (review, user) key and adds only the rows actually inserted to reviews.helpful_count, so
+// repeat votes the caches missed (older ones, or from another node) are dropped there.
+// When the buffer is full, votes are shed, not flushed inline.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HelpfulVoteService {
+    
+    private static final int MAX_PENDING_REVIEWS = 10000;
+    private static final int MAX_RECENT_VOTES = 200000;
+    
+    private static final String VISIBLE_REVIEWS_SQL =
+            "SELECT id FROM reviews WHERE id IN (:ids) AND is_held = FALSE";
+    
+    private static final String INSERT_VOTES_SQL =
+            "INSERT IGNORE INTO review_helpful_votes (review_id, user_id, created_at) VALUES :rows";
+    
+    private static final String INCREMENT_SQL =
+            "UPDATE reviews SET helpful_count = COALESCE(helpful_count, 0) + :votes WHERE id = :id";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Review id -> ids of users whose votes are not flushed yet
+    private final Map<Long, Set<Long>> pending = new ConcurrentHashMap<>();
+    
+    // Review id -> ids of users whose votes were flushed recently
+    private final Map<Long, Set<Long>> recentVoters = new ConcurrentHashMap<>();
+    private final AtomicInteger recentVoteCount = new AtomicInteger();
+    
+    // Returns false when this user is known to have voted for the review already
+    public boolean vote(Long reviewId, Long userId) {
+        Set<Long> voters = pending.get(reviewId);
+        if (voters != null && voters.contains(userId)) {
+            return false;
+        }
+        Set<Long> recent = recentVoters.get(reviewId);
+        if (recent != null && recent.contains(userId)) {
+            return false;
+        }
+        if (voters == null && pending.size() >= MAX_PENDING_REVIEWS) {
+            throw new ServiceOverloadedException("Too many votes are waiting to be saved, please try again shortly", 5);
+        }
+        
+        boolean[] added = new boolean[1];
+        pending.compute(reviewId, (id, current) -> {
+            Set<Long> updated = current != null ? current : ConcurrentHashMap.newKeySet();
+            added[0] = updated.add(userId);
+            return updated;
+        });
+        return added[0];
+    }
+    
+    // Called when a review is deleted so its buffered and cached votes go with it
+    public void forget(Long reviewId) {
+        pending.remove(reviewId);
+        recentVoters.remove(reviewId);
+    }
+    
+    public int pendingVotes(Long reviewId) {
+        Set<Long> voters = pending.get(reviewId);
+        return voters != null ? voters.size() : 0;
+    }
+    
+    @Scheduled(fixedDelayString = "${reviews.helpful-flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<Long, Set<Long>> batch = new HashMap<>();
+        for (Long reviewId : new ArrayList<>(pending.keySet())) {
+            Set<Long> voters = pending.remove(reviewId);
+            if (voters != null) {
+                batch.put(reviewId, voters);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            remember(batch);
+        } catch (RuntimeException e) {
+            // Put the votes back so the next flush retries them
+            batch.forEach((reviewId, voters) -> pending.merge(reviewId, voters, (current, retried) -> {
+                current.addAll(retried);
+                return current;
+            }));
+            log.warn("Could not flush helpful votes: {}", e.getMessage());
+        }
+    }
+    
+    private void write(Map<Long, Set<Long>> batch) {
+        Set<Long> visible = new HashSet<>(jdbcTemplate.queryForList(VISIBLE_REVIEWS_SQL,
+                new MapSqlParameterSource("ids", batch.keySet()), Long.class));
+        batch.keySet().retainAll(visible);
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<SqlParameterSource> increments = new ArrayList<>();
+        batch.forEach((reviewId, voters) -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Long userId : voters) {
+                rows.add(new Object[]{reviewId, userId, now});
+            }
+            int inserted = jdbcTemplate.update(INSERT_VOTES_SQL, new MapSqlParameterSource("rows", rows));
+            if (inserted > 0) {
+                increments.add(new MapSqlParameterSource()
+                        .addValue("id", reviewId)
+                        .addValue("votes", inserted));
+            }
+        });
+        
+        if (!increments.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, increments.toArray(new SqlParameterSource[0]));
+        }
+    }
+    
+    // Flushed votes are recorded either way, so repeat clicks are refused without a lookup
+    private void remember(Map<Long, Set<Long>> batch) {
+        int added = batch.values().stream().mapToInt(Set::size).sum();
+        if (recentVoteCount.addAndGet(added) > MAX_RECENT_VOTES) {
+            recentVoters.clear();
+            recentVoteCount.set(added);
+        }
+        batch.forEach((reviewId, voters) -> recentVoters
+                .computeIfAbsent(reviewId, id -> ConcurrentHashMap.newKeySet())
+                .addAll(voters));
+    }
+}
@@ -0,0 +1,324 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.CheckInActivity;
+import com.eventhub.dto.LiveCheckInStats;
+import com.eventhub.repository.CheckInRepository;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RegistrationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-event check-in counters kept in memory and streamed to admin dashboards over SSE.
+// Counters are seeded from MySQL when an event gains its first subscriber on this node,
+// move with published CheckInActivity (other nodes receive it through Redis pub/sub), are
+// re-seeded periodically to pick up changes that publish no activity, such as flag reviews
+// and rescores, and are dropped when the last subscriber leaves. Sends go through a small
+// executor so a slow dashboard never blocks check-ins or the Redis listener.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveCheckInService implements MessageListener {
+    
+    public static final String CHANNEL = "check-in:activity";
+    private static final long EMITTER_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    private static final int MINUTES_TRACKED = 60;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MAX_PENDING_PER_SUBSCRIBER = 64;
+    
+    private final CheckInRepository checkInRepository;
+    private final RegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Long, EventCounters> counters = new ConcurrentHashMap<>();
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    
+    @Value("${live.send-threads:2}")
+    private int sendThreads;
+    
+    @Value("${live.send-queue:1000}")
+    private int sendQueue;
+    
+    private ThreadPoolExecutor sendExecutor;
+    
+    public SseEmitter subscribe(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found");
+        }
+        
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Subscriber subscriber = new Subscriber(eventId, emitter);
+        // compute() keeps adding a subscriber and dropping the last one atomic per event
+        subscribers.compute(eventId, (id, list) -> {
+            List<Subscriber> eventSubscribers = list != null ? list : new CopyOnWriteArrayList<>();
+            eventSubscribers.add(subscriber);
+            return eventSubscribers;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        
+        subscriber.enqueue(SseEmitter.event().name("snapshot").data(countersFor(eventId).toStats(eventId)));
+        return emitter;
+    }
+    
+    // Unwatched events are read straight from MySQL rather than cached, so they can't go stale
+    public LiveCheckInStats getStats(Long eventId) {
+        EventCounters eventCounters = counters.get(eventId);
+        return (eventCounters != null ? eventCounters : seed(eventId)).toStats(eventId);
+    }
+    
+    // Runs after the publishing transaction commits, or immediately when there is none
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(CheckInActivity activity) {
+        apply(activity);
+        
+        activity.setOriginNode(nodeId);
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(activity));
+        } catch (Exception e) {
+            log.warn("Could not publish check-in activity to Redis: {}", e.getMessage());
+        }
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CheckInActivity activity = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), CheckInActivity.class);
+            if (!nodeId.equals(activity.getOriginNode())) {
+                apply(activity);
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring malformed check-in activity: {}", e.getMessage());
+        }
+    }
+    
+    private void apply(CheckInActivity activity) {
+        // Only events someone is watching on this node are tracked; the rest are seeded on first subscribe
+        EventCounters eventCounters = counters.get(activity.getEventId());
+        if (eventCounters == null) {
+            return;
+        }
+        eventCounters.record(activity);
+        
+        List<Subscriber> eventSubscribers = subscribers.get(activity.getEventId());
+        if (eventSubscribers != null) {
+            eventSubscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().name("delta").data(activity)));
+        }
+    }
+    
+    // Corrects drift from flag changes that publish no activity, and pushes the corrected totals
+    @Scheduled(fixedDelayString = "${live.reseed-interval-ms:60000}")
+    public void reseed() {
+        for (Long eventId : counters.keySet()) {
+            EventCounters seeded = seed(eventId);
+            if (counters.replace(eventId, seeded) == null) {
+                continue;
+            }
+            List<Subscriber> eventSubscribers = subscribers.get(eventId);
+            if (eventSubscribers != null) {
+                LiveCheckInStats stats = seeded.toStats(eventId);
+                eventSubscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().name("snapshot").data(stats)));
+            }
+        }
+    }
+    
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        sendExecutor = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "live-sse-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.eventId, (id, list) -> {
+            list.remove(subscriber);
+            if (list.isEmpty()) {
+                counters.remove(id);
+                return null;
+            }
+            return list;
+        });
+    }
+    
+    private EventCounters countersFor(Long eventId) {
+        return counters.computeIfAbsent(eventId, this::seed);
+    }
+    
+    private EventCounters seed(Long eventId) {
+        EventCounters seeded = new EventCounters();
+        seeded.checkIns.set(checkInRepository.countByEventId(eventId));
+        seeded.flagged.set(checkInRepository.countByEventIdAndIsFlaggedTrue(eventId));
+        seeded.attendeesCheckedIn.set(registrationRepository.countByEventIdAndCheckedInTrue(eventId));
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(MINUTES_TRACKED - 1);
+        checkInRepository.findCreatedAtByEventIdAfter(eventId, since).forEach(seeded::recordArrival);
+        return seeded;
+    }
+    
+    // Events for one emitter are queued and drained by at most one task at a time, which keeps
+    // them in order; a subscriber that falls MAX_PENDING_PER_SUBSCRIBER behind is disconnected
+    private class Subscriber {
+        private final Long eventId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        
+        Subscriber(Long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+        
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > MAX_PENDING_PER_SUBSCRIBER) {
+                close(null);
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+        
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close(null);
+            }
+        }
+        
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(e);
+                    return;
+                }
+            }
+            draining.set(false);
+            // An event queued after the last poll but before the flag reset would otherwise wait
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        
+        private void close(Exception cause) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            unsubscribe(this);
+            if (cause != null) {
+                emitter.completeWithError(cause);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+    
+    private static class EventCounters {
+        private final AtomicLong checkIns = new AtomicLong();
+        private final AtomicLong flagged = new AtomicLong();
+        private final AtomicLong attendeesCheckedIn = new AtomicLong();
+        
+        // Ring buffer of arrivals for the last hour, one slot per minute
+        private final long[] minuteKeys = new long[MINUTES_TRACKED];
+        private final long[] minuteCounts = new long[MINUTES_TRACKED];
+        
+        void record(CheckInActivity activity) {
+            if (CheckInActivity.ATTENDEE_CHECK_IN.equals(activity.getType())) {
+                attendeesCheckedIn.incrementAndGet();
+                return;
+            }
+            checkIns.incrementAndGet();
+            if (Boolean.TRUE.equals(activity.getFlagged())) {
+                flagged.incrementAndGet();
+            }
+            recordArrival(activity.getOccurredAt() != null ? activity.getOccurredAt() : LocalDateTime.now());
+        }
+        
+        synchronized void recordArrival(LocalDateTime at) {
+            long minute = epochMinute(at);
+            int slot = (int) Math.floorMod(minute, (long) MINUTES_TRACKED);
+            if (minuteKeys[slot] != minute) {
+                minuteKeys[slot] = minute;
+                minuteCounts[slot] = 0;
+            }
+            minuteCounts[slot]++;
+        }
+        
+        synchronized LiveCheckInStats toStats(Long eventId) {
+            long oldest = epochMinute(LocalDateTime.now()) - MINUTES_TRACKED + 1;
+            Map<LocalDateTime, Long> arrivals = new TreeMap<>();
+            for (int i = 0; i < MINUTES_TRACKED; i++) {
+                if (minuteCounts[i] > 0 && minuteKeys[i] >= oldest) {
+                    arrivals.put(EPOCH.plusMinutes(minuteKeys[i]), minuteCounts[i]);
+                }
+            }
+            
+            LiveCheckInStats stats = new LiveCheckInStats();
+            stats.setEventId(eventId);
+            stats.setCheckIns(checkIns.get());
+            stats.setFlagged(flagged.get());
+            stats.setAttendeesCheckedIn(attendeesCheckedIn.get());
+            stats.setArrivalsPerMinute(arrivals);
+            return stats;
+        }
+        
+        private static long epochMinute(LocalDateTime at) {
+            return ChronoUnit.MINUTES.between(EPOCH, at);
+        }
+    }
+}
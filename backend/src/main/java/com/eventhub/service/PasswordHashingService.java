@@ -1,21 +1,83 @@
 package com.eventhub.service;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.eventhub.exception.ServiceOverloadedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.util.concurrent.*;
 
+// All password hashing goes through here, using the PasswordEncoder bean from SecurityConfig.
+// BCrypt runs on a small dedicated pool with a bounded queue, so a login burst can only use
+// those threads' worth of CPU; once the queue is full, callers fail fast with a 503.
 @Service
+@RequiredArgsConstructor
 public class PasswordHashingService {
-    private final BCryptPasswordEncoder passwordEncoder;
     
-    public PasswordHashingService() {
-        this.passwordEncoder = new BCryptPasswordEncoder(10);
+    private static final long RETRY_AFTER_SECONDS = 1;
+    
+    private final PasswordEncoder passwordEncoder;
+    
+    @Value("${security.hashing-threads:0}")
+    private int threads; // 0 = half the available cores
+    
+    @Value("${security.hashing-queue:64}")
+    private int queueCapacity;
+    
+    @Value("${security.hashing-timeout-ms:5000}")
+    private long timeoutMillis;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-hashing");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
     }
     
     public String hashPassword(String password) {
-        return passwordEncoder.encode(password);
+        return run(() -> passwordEncoder.encode(password));
     }
     
     public boolean verifyPassword(String rawPassword, String hashedPassword) {
-        return passwordEncoder.matches(rawPassword, hashedPassword);
+        return run(() -> passwordEncoder.matches(rawPassword, hashedPassword));
+    }
+    
+    // True when the hash was made with a lower cost than the one configured now
+    public boolean needsRehash(String hashedPassword) {
+        return passwordEncoder.upgradeEncoding(hashedPassword);
+    }
+    
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadedException("Too many sign-in attempts in progress, please retry", RETRY_AFTER_SECONDS);
+        }
+        
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceOverloadedException("Password check timed out, please retry", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password check interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
     }
 }
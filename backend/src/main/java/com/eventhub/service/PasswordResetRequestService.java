@@ -5,16 +5,20 @@ import com.eventhub.dto.CreatePasswordResetRequest;
 import com.eventhub.dto.PasswordResetRequestDto;
 import com.eventhub.entity.PasswordResetRequest;
 import com.eventhub.entity.User;
+import com.eventhub.entity.WorkQueueItem;
 import com.eventhub.repository.PasswordResetRequestRepository;
 import com.eventhub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,13 +27,15 @@ public class PasswordResetRequestService {
     
     private final PasswordResetRequestRepository resetRequestRepository;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final CurrentUserService currentUserService;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final WorkQueueService workQueueService;
     
     @Transactional
     public PasswordResetRequestDto createRequest(CreatePasswordResetRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         if ("ADMIN".equals(user.getRole())) {
             throw new RuntimeException("Admin accounts cannot request password reset");
@@ -41,24 +47,47 @@ public class PasswordResetRequestService {
         resetRequest.setStatus(PasswordResetRequest.RequestStatus.PENDING);
         
         PasswordResetRequest saved = resetRequestRepository.save(resetRequest);
+        workQueueService.enqueue(WorkQueueItem.Queue.PASSWORD_RESET, saved.getId());
         return mapToDto(saved);
     }
     
     public List<PasswordResetRequestDto> getPendingRequests() {
-        return resetRequestRepository.findByStatus(PasswordResetRequest.RequestStatus.PENDING)
+        return resetRequestRepository.findByStatusOrderByRequestedAtAsc(PasswordResetRequest.RequestStatus.PENDING)
                 .stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
     
+    // Leases the oldest unclaimed pending requests to the calling admin
+    @Transactional
+    public List<PasswordResetRequestDto> claimPendingRequests(int limit) {
+        List<Long> ids = workQueueService.claim(WorkQueueItem.Queue.PASSWORD_RESET, currentUserService.getUserId(), limit);
+        Map<Long, PasswordResetRequest> byId = resetRequestRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(PasswordResetRequest::getId, Function.identity()));
+        
+        List<PasswordResetRequestDto> claimed = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PasswordResetRequest request = byId.get(id);
+            if (request == null || request.getStatus() != PasswordResetRequest.RequestStatus.PENDING) {
+                workQueueService.discard(WorkQueueItem.Queue.PASSWORD_RESET, id);
+            } else {
+                claimed.add(mapToDto(request));
+            }
+        }
+        return claimed;
+    }
+    
+    public void releaseRequest(Long id) {
+        workQueueService.release(WorkQueueItem.Queue.PASSWORD_RESET, id, currentUserService.getUserId());
+    }
+    
     @Transactional
     public PasswordResetRequestDto approveRequest(Long id) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User admin = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User admin = currentUserService.getUser();
         
         PasswordResetRequest resetRequest = resetRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Request not found"));
+        workQueueService.complete(WorkQueueItem.Queue.PASSWORD_RESET, id, admin.getId(), "APPROVED");
         
         resetRequest.setStatus(PasswordResetRequest.RequestStatus.APPROVED);
         resetRequest.setProcessedAt(LocalDateTime.now());
@@ -70,12 +99,11 @@ public class PasswordResetRequestService {
     
     @Transactional
     public PasswordResetRequestDto rejectRequest(Long id) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User admin = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User admin = currentUserService.getUser();
         
         PasswordResetRequest resetRequest = resetRequestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Request not found"));
+        workQueueService.complete(WorkQueueItem.Queue.PASSWORD_RESET, id, admin.getId(), "REJECTED");
         
         resetRequest.setStatus(PasswordResetRequest.RequestStatus.REJECTED);
         resetRequest.setProcessedAt(LocalDateTime.now());
@@ -86,9 +114,7 @@ public class PasswordResetRequestService {
     }
     
     public List<PasswordResetRequestDto> getMyRequests() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         return resetRequestRepository.findByUserId(user.getId())
                 .stream()
@@ -113,8 +139,18 @@ public class PasswordResetRequestService {
         }
         
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.hashPassword(newPassword));
         userRepository.save(user);
+        currentUserService.evict(user.getId());
+        // Sessions end only once the new password is committed
+        Long userId = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenRevocationService.revokeAllForUser(userId);
+                refreshTokenService.revokeAll(userId);
+            }
+        });
         
         // Mark all approved requests as used
         approvedRequests.forEach(req -> {
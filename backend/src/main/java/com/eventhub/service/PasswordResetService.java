@@ -5,33 +5,53 @@ import com.eventhub.entity.User;
 import com.eventhub.repository.PasswordResetRepository;
 import com.eventhub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PasswordResetService {
     private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
     private final PasswordResetRepository passwordResetRepository;
     private final EmailService emailService;
     private final PasswordHashingService passwordHashingService;
     private final TokenGenerationService tokenGenerationService;
     private final RateLimitService rateLimitService;
+    private final StringRedisTemplate redisTemplate;
+    
+    @Value("${password-reset.retention-days:30}")
+    private int retentionDays;
+    
+    @Value("${password-reset.purge-batch-size:1000}")
+    private int purgeBatchSize;
     
     private static final int TOKEN_EXPIRATION_MINUTES = 15;
+    private static final String TOKEN_KEY = "password_reset:";
     private static final String PASSWORD_REGEX = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
     private static final Pattern PASSWORD_PATTERN = Pattern.compile(PASSWORD_REGEX);
     
+    @Transactional
     public void requestPasswordReset(String registeredEmail, String recoveryEmail, String ipAddress) {
-        if (rateLimitService.isRateLimited(registeredEmail, ipAddress)) {
-            rateLimitService.incrementRateLimitCounter(registeredEmail, ipAddress);
-            throw new RuntimeException("Too many reset requests. Please try again in 1 hour");
-        }
+        rateLimitService.checkPasswordReset(registeredEmail, ipAddress);
         
         Optional<User> userOpt = userRepository.findByEmail(registeredEmail);
-        rateLimitService.incrementRateLimitCounter(registeredEmail, ipAddress);
         
         if (userOpt.isPresent()) {
             User user = userOpt.get();
@@ -51,6 +71,13 @@ public class PasswordResetService {
             passwordReset.setCreatedAt(LocalDateTime.now());
             
             passwordResetRepository.save(passwordReset);
+            // Only once the row is committed, so Redis never vouches for a token the table lacks
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheToken(token, expiresAt);
+                }
+            });
             
             String resetLink = "http://localhost:3000/reset-password?token=" + token;
             emailService.sendPasswordResetEmail(user.getRecoveryEmail(), resetLink);
@@ -58,6 +85,12 @@ public class PasswordResetService {
     }
     
     public PasswordResetValidation validateToken(String token) {
+        LocalDateTime cachedExpiry = cachedExpiry(token);
+        if (cachedExpiry != null && LocalDateTime.now().isBefore(cachedExpiry)) {
+            return new PasswordResetValidation(true, "Token is valid", cachedExpiry);
+        }
+        
+        // A miss is not proof of invalidity (Redis may have restarted), so the table decides
         Optional<PasswordReset> resetOpt = passwordResetRepository.findByToken(token);
         
         if (resetOpt.isEmpty()) {
@@ -77,6 +110,7 @@ public class PasswordResetService {
         return new PasswordResetValidation(true, "Token is valid", reset.getExpiresAt());
     }
     
+    @Transactional
     public void resetPassword(String token, String newPassword) {
         if (!isValidPassword(newPassword)) {
             throw new RuntimeException("Password does not meet strength requirements");
@@ -95,9 +129,22 @@ public class PasswordResetService {
         user.setPassword(passwordHashingService.hashPassword(newPassword));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        currentUserService.evict(user.getId());
+        
+        // End every session, since the old password may have been compromised. Only after
+        // commit, so a rolled-back reset doesn't log the user out everywhere.
+        Long userId = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenRevocationService.revokeAllForUser(userId);
+                refreshTokenService.revokeAll(userId);
+            }
+        });
         
         reset.setUsed(true);
         passwordResetRepository.save(reset);
+        evictToken(token);
         
         emailService.sendPasswordChangedNotification(user.getEmail(), user.getRecoveryEmail());
     }
@@ -118,6 +165,52 @@ public class PasswordResetService {
         user.setRecoveryEmail(recoveryEmail);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        currentUserService.evict(user.getId());
+    }
+    
+    // Rows are kept as an audit trail for the retention period, then removed in small batches
+    @Scheduled(cron = "${password-reset.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = passwordResetRepository.deleteExpiredBefore(cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) {
+            log.info("Purged {} password reset tokens expired before {}", total, cutoff);
+        }
+    }
+    
+    private void cacheToken(String token, LocalDateTime expiresAt) {
+        try {
+            long expiresAtMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            redisTemplate.opsForValue().set(TOKEN_KEY + tokenGenerationService.hashToken(token),
+                    Long.toString(expiresAtMillis), TOKEN_EXPIRATION_MINUTES, TimeUnit.MINUTES);
+        } catch (DataAccessException e) {
+            log.warn("Could not cache password reset token: {}", e.getMessage());
+        }
+    }
+    
+    private LocalDateTime cachedExpiry(String token) {
+        try {
+            String value = redisTemplate.opsForValue().get(TOKEN_KEY + tokenGenerationService.hashToken(token));
+            if (value == null) {
+                return null;
+            }
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(value)), ZoneId.systemDefault());
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+    
+    private void evictToken(String token) {
+        try {
+            redisTemplate.delete(TOKEN_KEY + tokenGenerationService.hashToken(token));
+        } catch (DataAccessException e) {
+            log.warn("Could not evict password reset token: {}", e.getMessage());
+        }
     }
     
     private boolean isValidPassword(String password) {
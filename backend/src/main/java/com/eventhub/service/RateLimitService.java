@@ -1,36 +1,138 @@
 package com.eventhub.service;
 
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.stereotype.Service;
+import com.eventhub.exception.RateLimitExceededException;
 import lombok.RequiredArgsConstructor;
-import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Token-bucket rate limiting. All buckets for one request are checked and charged by a single
+// Lua script, so it is one round trip with no race between check and increment. If Redis is
+// unreachable the same buckets are kept in memory on this node until it comes back.
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RateLimitService {
-    private final RedisTemplate<String, Integer> redisTemplate;
-    private static final int MAX_REQUESTS = 3;
-    private static final long EXPIRATION_MINUTES = 60;
     
-    public boolean isRateLimited(String email, String ipAddress) {
-        String emailKey = "rate_limit:email:" + email;
-        String ipKey = "rate_limit:ip:" + ipAddress;
+    private static final String KEY_PREFIX = "rate_limit:";
+    private static final int MAX_LOCAL_BUCKETS = 10000;
+    
+    private static final int PASSWORD_RESET_REQUESTS = 3;
+    private static final Duration PASSWORD_RESET_WINDOW = Duration.ofHours(1);
+    
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/rate_limit.lua"), List.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    
+    private final Map<String, LocalBucket> localBuckets = new ConcurrentHashMap<>();
+    
+    public record Limit(String key, int capacity, Duration window) {}
+    
+    public record Result(boolean allowed, long remaining, long resetSeconds, long retryAfterSeconds) {}
+    
+    // Counts every request, including ones for unknown accounts, so responses do not reveal which emails exist
+    public void checkPasswordReset(String email, String ipAddress) {
+        Result result = tryAcquire(List.of(
+                new Limit("password_reset:email:" + email, PASSWORD_RESET_REQUESTS, PASSWORD_RESET_WINDOW),
+                new Limit("password_reset:ip:" + ipAddress, PASSWORD_RESET_REQUESTS, PASSWORD_RESET_WINDOW)));
+        if (!result.allowed()) {
+            long minutes = Math.max(1, (result.retryAfterSeconds() + 59) / 60);
+            throw new RateLimitExceededException(
+                    "Too many reset requests. Please try again in " + minutes + " minutes", result.retryAfterSeconds());
+        }
+    }
+    
+    public Result tryAcquire(List<Limit> limits) {
+        List<String> keys = new ArrayList<>(limits.size());
+        String[] args = new String[limits.size() * 2];
+        for (int i = 0; i < limits.size(); i++) {
+            Limit limit = limits.get(i);
+            keys.add(KEY_PREFIX + limit.key());
+            args[i * 2] = Integer.toString(limit.capacity());
+            args[i * 2 + 1] = Long.toString(limit.window().toMillis());
+        }
         
-        Integer emailCount = redisTemplate.opsForValue().get(emailKey);
-        Integer ipCount = redisTemplate.opsForValue().get(ipKey);
+        try {
+            List<?> reply = redisTemplate.execute(SCRIPT, keys, (Object[]) args);
+            return new Result(toLong(reply.get(0)) == 1, toLong(reply.get(1)),
+                    toSeconds(toLong(reply.get(2))), toSeconds(toLong(reply.get(3))));
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limiter unavailable, using in-process buckets: {}", e.getMessage());
+            return tryAcquireLocally(limits);
+        }
+    }
+    
+    // Same algorithm as the Lua script, per node
+    private synchronized Result tryAcquireLocally(List<Limit> limits) {
+        long now = System.currentTimeMillis();
+        if (localBuckets.size() > MAX_LOCAL_BUCKETS) {
+            localBuckets.values().removeIf(bucket -> now - bucket.updatedAt > bucket.windowMillis);
+        }
         
-        return (emailCount != null && emailCount >= MAX_REQUESTS) || 
-               (ipCount != null && ipCount >= MAX_REQUESTS);
+        List<LocalBucket> buckets = new ArrayList<>(limits.size());
+        boolean allowed = true;
+        long retryAfterMillis = 0;
+        for (Limit limit : limits) {
+            LocalBucket bucket = localBuckets.computeIfAbsent(limit.key(),
+                    key -> new LocalBucket(limit.capacity(), limit.window().toMillis(), now));
+            bucket.refill(now);
+            buckets.add(bucket);
+            if (bucket.tokens < 1) {
+                allowed = false;
+                retryAfterMillis = Math.max(retryAfterMillis, (long) Math.ceil((1 - bucket.tokens) / bucket.rate()));
+            }
+        }
+        
+        long remaining = Long.MAX_VALUE;
+        long resetMillis = 0;
+        for (LocalBucket bucket : buckets) {
+            if (allowed) {
+                bucket.tokens -= 1;
+            }
+            remaining = Math.min(remaining, (long) Math.floor(bucket.tokens));
+            resetMillis = Math.max(resetMillis, (long) Math.ceil((bucket.capacity - bucket.tokens) / bucket.rate()));
+        }
+        return new Result(allowed, remaining, toSeconds(resetMillis), toSeconds(retryAfterMillis));
     }
     
-    public void incrementRateLimitCounter(String email, String ipAddress) {
-        String emailKey = "rate_limit:email:" + email;
-        String ipKey = "rate_limit:ip:" + ipAddress;
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+    
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+    
+    private static class LocalBucket {
+        private final int capacity;
+        private final long windowMillis;
+        private double tokens;
+        private long updatedAt;
+        
+        LocalBucket(int capacity, long windowMillis, long now) {
+            this.capacity = capacity;
+            this.windowMillis = windowMillis;
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
         
-        redisTemplate.opsForValue().increment(emailKey);
-        redisTemplate.expire(emailKey, EXPIRATION_MINUTES, TimeUnit.MINUTES);
+        double rate() {
+            return (double) capacity / windowMillis;
+        }
         
-        redisTemplate.opsForValue().increment(ipKey);
-        redisTemplate.expire(ipKey, EXPIRATION_MINUTES, TimeUnit.MINUTES);
+        void refill(long now) {
+            tokens = Math.min(capacity, tokens + Math.max(0, now - updatedAt) * rate());
+            updatedAt = now;
+        }
     }
 }
@@ -0,0 +1,118 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.RatingSummaryResponse;
+import com.eventhub.entity.EventRatingSummary;
+import com.eventhub.repository.EventRatingSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Per-event rating sum, count and star histogram, kept in step with the reviews table
+// by ReviewService so rating reads are a primary-key lookup instead of AVG/COUNT scans.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingSummaryService {
+    
+    private static final int MAX_BATCH_EVENTS = 200;
+    
+    private final EventRatingSummaryRepository summaryRepository;
+    
+    public void recordAdded(Long eventId, int rating) {
+        applyDelta(eventId, 0, rating);
+    }
+    
+    public void recordChanged(Long eventId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            applyDelta(eventId, oldRating, newRating);
+        }
+    }
+    
+    public void recordRemoved(Long eventId, int rating) {
+        applyDelta(eventId, rating, 0);
+    }
+    
+    public EventRatingSummary getSummary(Long eventId) {
+        return summaryRepository.findById(eventId).orElseGet(() -> emptySummary(eventId));
+    }
+    
+    // One primary-key IN lookup for a whole event listing; events without reviews get empty summaries
+    @Transactional(readOnly = true)
+    public List<RatingSummaryResponse> getSummaries(List<Long> eventIds) {
+        Set<Long> ids = new LinkedHashSet<>(eventIds);
+        if (ids.size() > MAX_BATCH_EVENTS) {
+            throw new RuntimeException("At most " + MAX_BATCH_EVENTS + " events can be requested at once");
+        }
+        
+        Map<Long, EventRatingSummary> summaries = summaryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(EventRatingSummary::getEventId, Function.identity()));
+        return ids.stream()
+                .map(id -> mapToResponse(summaries.computeIfAbsent(id, this::emptySummary)))
+                .collect(Collectors.toList());
+    }
+    
+    public static double averageOf(EventRatingSummary summary) {
+        if (summary.getRatingCount() == 0) {
+            return 0.0;
+        }
+        return Math.round((double) summary.getRatingSum() / summary.getRatingCount() * 10.0) / 10.0;
+    }
+    
+    // Backfills summaries for reviews written before the table existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (summaryRepository.count() == 0) {
+            repair();
+        }
+    }
+    
+    // Catches any drift, e.g. rows edited by hand or written before the summaries existed
+    @Scheduled(cron = "${reviews.rating-repair-cron:0 30 3 * * *}")
+    public void repair() {
+        int rebuilt = summaryRepository.rebuildAll();
+        int cleared = summaryRepository.clearOrphaned();
+        log.info("Rating summaries repaired: {} rebuilt, {} cleared", rebuilt, cleared);
+    }
+    
+    private EventRatingSummary emptySummary(Long eventId) {
+        EventRatingSummary empty = new EventRatingSummary();
+        empty.setEventId(eventId);
+        return empty;
+    }
+    
+    private RatingSummaryResponse mapToResponse(EventRatingSummary summary) {
+        RatingSummaryResponse response = new RatingSummaryResponse();
+        response.setEventId(summary.getEventId());
+        response.setAverageRating(averageOf(summary));
+        response.setTotalReviews(summary.getRatingCount().intValue());
+        response.setStarCounts(List.of(summary.getOneStar(), summary.getTwoStar(), summary.getThreeStar(),
+                summary.getFourStar(), summary.getFiveStar()));
+        return response;
+    }
+    
+    // A rating of 0 means "no rating" on that side of the change
+    private void applyDelta(Long eventId, int removed, int added) {
+        long[] stars = new long[6];
+        long count = 0;
+        if (removed > 0) {
+            stars[removed]--;
+            count--;
+        }
+        if (added > 0) {
+            stars[added]++;
+            count++;
+        }
+        summaryRepository.applyDelta(eventId, added - removed, count,
+                stars[1], stars[2], stars[3], stars[4], stars[5]);
+    }
+}
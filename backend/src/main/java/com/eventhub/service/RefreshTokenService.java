@@ -0,0 +1,61 @@
+package com.eventhub.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Opaque, single-use refresh tokens kept in Redis under their SHA-256, so a Redis dump
+// does not hand out usable tokens. Each user also has a set of their token hashes so
+// all sessions can be ended at once after a password reset.
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    
+    private static final String TOKEN_KEY = "refresh_token:";
+    private static final String USER_KEY = "refresh_tokens:user:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final TokenGenerationService tokenGenerationService;
+    
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+    
+    public String issue(Long userId) {
+        String token = tokenGenerationService.generateSecureToken();
+        String hash = tokenGenerationService.hashToken(token);
+        redisTemplate.opsForValue().set(TOKEN_KEY + hash, userId.toString(), refreshExpiration, TimeUnit.MILLISECONDS);
+        redisTemplate.opsForSet().add(USER_KEY + userId, hash);
+        redisTemplate.expire(USER_KEY + userId, refreshExpiration, TimeUnit.MILLISECONDS);
+        return token;
+    }
+    
+    // Rotation: the token is deleted as it is read, so a replayed or raced copy finds nothing
+    public Long consume(String token) {
+        String hash = tokenGenerationService.hashToken(token);
+        String userId = redisTemplate.opsForValue().getAndDelete(TOKEN_KEY + hash);
+        if (userId == null) {
+            throw new RuntimeException("Invalid or expired refresh token");
+        }
+        redisTemplate.opsForSet().remove(USER_KEY + userId, hash);
+        return Long.valueOf(userId);
+    }
+    
+    public void revoke(String token) {
+        String hash = tokenGenerationService.hashToken(token);
+        String userId = redisTemplate.opsForValue().getAndDelete(TOKEN_KEY + hash);
+        if (userId != null) {
+            redisTemplate.opsForSet().remove(USER_KEY + userId, hash);
+        }
+    }
+    
+    public void revokeAll(Long userId) {
+        Set<String> hashes = redisTemplate.opsForSet().members(USER_KEY + userId);
+        if (hashes != null && !hashes.isEmpty()) {
+            redisTemplate.delete(hashes.stream().map(h -> TOKEN_KEY + h).toList());
+        }
+        redisTemplate.delete(USER_KEY + userId);
+    }
+}
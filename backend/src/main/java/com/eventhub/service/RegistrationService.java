@@ -1,19 +1,26 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.CheckInActivity;
 import com.eventhub.dto.RegistrationRequest;
 import com.eventhub.dto.RegistrationResponse;
 import com.eventhub.entity.Event;
 import com.eventhub.entity.Registration;
+import com.eventhub.entity.TicketRevocation;
 import com.eventhub.entity.User;
+import com.eventhub.entity.WorkQueueItem;
 import com.eventhub.repository.EventRepository;
 import com.eventhub.repository.RegistrationRepository;
-import com.eventhub.repository.UserRepository;
+import com.eventhub.repository.TicketRevocationRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,13 +28,15 @@ import java.util.stream.Collectors;
 public class RegistrationService {
     
     private final RegistrationRepository registrationRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final EventRepository eventRepository;
+    private final TicketRevocationRepository ticketRevocationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkQueueService workQueueService;
     
+    @Transactional
     public RegistrationResponse registerForEvent(RegistrationRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         Event event = eventRepository.findById(request.getEventId())
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -49,17 +58,20 @@ public class RegistrationService {
         registration.setStatus(Registration.RegistrationStatus.PENDING);
         
         Registration saved = registrationRepository.save(registration);
+        workQueueService.enqueue(WorkQueueItem.Queue.REGISTRATION, saved.getId());
         return mapToResponse(saved);
     }
     
+    @Transactional
     public RegistrationResponse approveRegistration(Long id) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User admin = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User admin = currentUserService.getUser();
         
         Registration registration = registrationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Registration not found"));
+        workQueueService.complete(WorkQueueItem.Queue.REGISTRATION, id, admin.getId(), "APPROVED");
         
+        // Re-approving issues a new ticket code, so the old one stops scanning
+        revokeTicket(registration);
         registration.setStatus(Registration.RegistrationStatus.APPROVED);
         registration.setApprovedAt(LocalDateTime.now());
         registration.setApprovedBy(admin.getId());
@@ -69,10 +81,13 @@ public class RegistrationService {
         return mapToResponse(updated);
     }
     
+    @Transactional
     public RegistrationResponse rejectRegistration(Long id) {
         Registration registration = registrationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Registration not found"));
+        workQueueService.complete(WorkQueueItem.Queue.REGISTRATION, id, currentUserService.getUserId(), "REJECTED");
         
+        revokeTicket(registration);
         registration.setStatus(Registration.RegistrationStatus.REJECTED);
         
         Registration updated = registrationRepository.save(registration);
@@ -80,16 +95,37 @@ public class RegistrationService {
     }
     
     public List<RegistrationResponse> getPendingRegistrations() {
-        return registrationRepository.findAll().stream()
-                .filter(r -> r.getStatus() == Registration.RegistrationStatus.PENDING)
+        return registrationRepository.findByStatusOrderByRegisteredAtAsc(Registration.RegistrationStatus.PENDING).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    // Leases the oldest unclaimed pending registrations to the calling admin
+    @Transactional
+    public List<RegistrationResponse> claimPendingRegistrations(int limit) {
+        List<Long> ids = workQueueService.claim(WorkQueueItem.Queue.REGISTRATION, currentUserService.getUserId(), limit);
+        Map<Long, Registration> byId = registrationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Registration::getId, Function.identity()));
+        
+        List<RegistrationResponse> claimed = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Registration registration = byId.get(id);
+            if (registration == null || registration.getStatus() != Registration.RegistrationStatus.PENDING) {
+                workQueueService.discard(WorkQueueItem.Queue.REGISTRATION, id);
+            } else {
+                claimed.add(mapToResponse(registration));
+            }
+        }
+        return claimed;
+    }
+    
+    public void releaseRegistration(Long id) {
+        workQueueService.release(WorkQueueItem.Queue.REGISTRATION, id, currentUserService.getUserId());
+    }
+    
+    @Transactional
     public void cancelRegistration(Long id) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         Registration registration = registrationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Registration not found"));
@@ -98,13 +134,13 @@ public class RegistrationService {
             throw new RuntimeException("Not authorized to cancel this registration");
         }
         
+        revokeTicket(registration);
         registrationRepository.delete(registration);
+        workQueueService.discard(WorkQueueItem.Queue.REGISTRATION, id);
     }
     
     public List<RegistrationResponse> getMyEvents() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         return registrationRepository.findByUserId(user.getId()).stream()
                 .map(this::mapToResponse)
@@ -125,10 +161,14 @@ public class RegistrationService {
             throw new RuntimeException("Only approved registrations can check in");
         }
         
+        boolean alreadyCheckedIn = Boolean.TRUE.equals(registration.getCheckedIn());
         registration.setCheckedIn(true);
         registration.setCheckedInAt(LocalDateTime.now());
         
         Registration updated = registrationRepository.save(registration);
+        if (!alreadyCheckedIn) {
+            eventPublisher.publishEvent(CheckInActivity.attendeeCheckIn(updated.getEvent().getId(), updated.getCheckedInAt()));
+        }
         return mapToResponse(updated);
     }
     
@@ -139,6 +179,18 @@ public class RegistrationService {
                 .collect(Collectors.toList());
     }
     
+    // Records the revocation so offline scanners pick it up on their next sync
+    private void revokeTicket(Registration registration) {
+        if (registration.getStatus() != Registration.RegistrationStatus.APPROVED || registration.getTicketCode() == null) {
+            return;
+        }
+        
+        TicketRevocation revocation = new TicketRevocation();
+        revocation.setEventId(registration.getEvent().getId());
+        revocation.setTicketCode(registration.getTicketCode());
+        ticketRevocationRepository.save(revocation);
+    }
+    
     private String generateTicketCode() {
         return "TKT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
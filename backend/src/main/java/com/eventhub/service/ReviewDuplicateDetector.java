@@ -0,0 +1,198 @@
+package com.eventhub.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import java.util.*;
+
+// Near-duplicate detection for review comments. Each comment is reduced to a fixed-size
+// MinHash signature over its character 5-grams, and the signature is split into LSH bands,
+// so a new comment is only compared against reviews sharing at least one band bucket.
+// 16 bands of 4 rows make pairs above ~50% similarity likely candidates; candidates are
+// then confirmed against the configured similarity. Every review costs the same 64 ints
+// however long its comment is, and the index keeps at most MAX_REVIEWS of the newest.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewDuplicateDetector {
+    
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final int SHINGLE = 5;
+    private static final int MAX_REVIEWS = 100000;
+    private static final int MAX_BUCKET_SIZE = 64; // Enough evidence; stops one spam wave growing a bucket forever
+    
+    private static final String LOAD_SQL =
+            "SELECT id, comment FROM reviews WHERE comment IS NOT NULL ORDER BY id DESC LIMIT :limit";
+    
+    private static final long[] SEEDS = new long[HASHES];
+    
+    static {
+        Random random = new Random(0x5EED);
+        for (int i = 0; i < HASHES; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Value("${reviews.duplicate-similarity:0.8}")
+    private double similarityThreshold;
+    
+    @Value("${reviews.duplicate-min-length:40}")
+    private int minLength;
+    
+    // Insertion order doubles as age for eviction
+    private final LinkedHashMap<Long, int[]> signatures = new LinkedHashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query(LOAD_SQL, new MapSqlParameterSource("limit", MAX_REVIEWS),
+                rs -> { rows.add(new Object[]{rs.getLong("id"), rs.getString("comment")}); });
+        
+        List<int[]> computed = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            computed.add(signatureOf((String) row[1]));
+        }
+        
+        synchronized (this) {
+            signatures.clear();
+            buckets.clear();
+            // Oldest first so eviction order matches id order
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                add((Long) rows.get(i)[0], computed.get(i));
+            }
+        }
+        log.info("Review duplicate index rebuilt with {} reviews", signatures.size());
+    }
+    
+    // Returns the id of an indexed review the comment nearly duplicates, if any
+    public Optional<Long> findDuplicate(String comment) {
+        return findDuplicate(comment, null);
+    }
+    
+    // Same, ignoring the review being edited so it doesn't match its own previous text.
+    // Signatures are computed before taking the lock, which only guards the index itself.
+    public Optional<Long> findDuplicate(String comment, Long excludeReviewId) {
+        int[] signature = signatureOf(comment);
+        if (signature == null) {
+            return Optional.empty();
+        }
+        return findDuplicate(signature, excludeReviewId);
+    }
+    
+    private synchronized Optional<Long> findDuplicate(int[] signature, Long excludeReviewId) {
+        Set<Long> seen = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Long> bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long candidate : bucket) {
+                if (!candidate.equals(excludeReviewId) && seen.add(candidate) && similarity(signature, signatures.get(candidate)) >= similarityThreshold) {
+                    return Optional.of(candidate);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    public void add(Long reviewId, String comment) {
+        add(reviewId, signatureOf(comment));
+    }
+    
+    private synchronized void add(Long reviewId, int[] signature) {
+        remove(reviewId);
+        if (signature == null) {
+            return;
+        }
+        
+        signatures.put(reviewId, signature);
+        for (int band = 0; band < BANDS; band++) {
+            List<Long> bucket = buckets.computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>(1));
+            if (bucket.size() < MAX_BUCKET_SIZE) {
+                bucket.add(reviewId);
+            }
+        }
+        
+        if (signatures.size() > MAX_REVIEWS) {
+            remove(signatures.keySet().iterator().next());
+        }
+    }
+    
+    public synchronized void remove(Long reviewId) {
+        int[] signature = signatures.remove(reviewId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            List<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(reviewId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+    
+    // Null for comments too short to judge; short praise like "Great event!" repeats honestly
+    private int[] signatureOf(String comment) {
+        if (comment == null) {
+            return null;
+        }
+        String text = comment.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        if (text.length() < minLength) {
+            return null;
+        }
+        
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int i = 0; i + SHINGLE <= text.length(); i++) {
+            long shingle = text.substring(i, i + SHINGLE).hashCode();
+            for (int h = 0; h < HASHES; h++) {
+                int value = (int) (mix(shingle ^ SEEDS[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 31 + signature[row];
+        }
+        return mix(key);
+    }
+    
+    // Fraction of matching MinHash values estimates the Jaccard similarity of the shingle sets
+    private static double similarity(int[] a, int[] b) {
+        int matches = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                matches++;
+            }
+        }
+        return (double) matches / HASHES;
+    }
+    
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
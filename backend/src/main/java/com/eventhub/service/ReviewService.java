@@ -1,17 +1,22 @@
 package com.eventhub.service;
 
+import com.eventhub.dto.ReviewPage;
 import com.eventhub.dto.ReviewRequest;
 import com.eventhub.dto.ReviewResponse;
 import com.eventhub.entity.Event;
+import com.eventhub.entity.EventRatingSummary;
 import com.eventhub.entity.Review;
 import com.eventhub.entity.User;
 import com.eventhub.repository.EventRepository;
 import com.eventhub.repository.ReviewRepository;
-import com.eventhub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,14 +24,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReviewService {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final ReviewRepository reviewRepository;
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final RatingSummaryService ratingSummaryService;
+    private final HelpfulVoteService helpfulVoteService;
+    private final ReviewDuplicateDetector duplicateDetector;
     
+    @Transactional
     public ReviewResponse createReview(ReviewRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         Event event = eventRepository.findById(request.getEventId())
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -44,36 +53,60 @@ public class ReviewService {
         review.setCreatedAt(LocalDateTime.now());
         review.setUpdatedAt(LocalDateTime.now());
         
+        // Hold copy-pasted comments for moderation
+        duplicateDetector.findDuplicate(request.getComment()).ifPresent(duplicateOf -> {
+            review.setIsHeld(true);
+            review.setHeldReason("Near-duplicate of review #" + duplicateOf);
+        });
+        
         Review saved = reviewRepository.save(review);
+        afterCommit(() -> duplicateDetector.add(saved.getId(), saved.getComment()));
+        if (!Boolean.TRUE.equals(saved.getIsHeld())) {
+            ratingSummaryService.recordAdded(event.getId(), saved.getRating());
+        }
         return mapToResponse(saved);
     }
     
+    @Transactional
     public ReviewResponse updateReview(Long reviewId, ReviewRequest request) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
-        Review review = reviewRepository.findById(reviewId)
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
         
         if (!review.getUser().getId().equals(user.getId())) {
             throw new RuntimeException("You can only edit your own reviews");
         }
         
+        int oldRating = review.getRating();
+        boolean wasHeld = Boolean.TRUE.equals(review.getIsHeld());
         review.setRating(request.getRating());
         review.setComment(request.getComment());
         review.setUpdatedAt(LocalDateTime.now());
         
+        // An edit can turn an original review into a copy, so it is checked like a new one
+        if (!wasHeld) {
+            duplicateDetector.findDuplicate(request.getComment(), review.getId()).ifPresent(duplicateOf -> {
+                review.setIsHeld(true);
+                review.setHeldReason("Near-duplicate of review #" + duplicateOf);
+            });
+        }
+        
         Review updated = reviewRepository.save(review);
+        afterCommit(() -> duplicateDetector.add(updated.getId(), updated.getComment()));
+        if (!wasHeld && Boolean.TRUE.equals(updated.getIsHeld())) {
+            ratingSummaryService.recordRemoved(review.getEvent().getId(), oldRating);
+        } else if (!wasHeld) {
+            ratingSummaryService.recordChanged(review.getEvent().getId(), oldRating, updated.getRating());
+        }
         return mapToResponse(updated);
     }
     
+    @Transactional
     public void deleteReview(Long reviewId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
-        Review review = reviewRepository.findById(reviewId)
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
         
         if (!review.getUser().getId().equals(user.getId())) {
@@ -81,38 +114,117 @@ public class ReviewService {
         }
         
         reviewRepository.delete(review);
+        afterCommit(() -> {
+            duplicateDetector.remove(review.getId());
+            helpfulVoteService.forget(review.getId());
+        });
+        if (!Boolean.TRUE.equals(review.getIsHeld())) {
+            ratingSummaryService.recordRemoved(review.getEvent().getId(), review.getRating());
+        }
     }
     
-    public List<ReviewResponse> getEventReviews(Long eventId) {
-        List<Review> reviews = reviewRepository.findByEventId(eventId);
-        Double avgRating = reviewRepository.getAverageRatingByEventId(eventId);
-        Long totalReviews = reviewRepository.getReviewCountByEventId(eventId);
-        
-        return reviews.stream()
-                .map(review -> {
-                    ReviewResponse response = mapToResponse(review);
-                    response.setAverageRating(avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0);
-                    response.setTotalReviews(totalReviews != null ? totalReviews.intValue() : 0);
-                    return response;
-                })
+    public List<ReviewResponse> getHeldReviews() {
+        return reviewRepository.findByIsHeldTrueOrderByCreatedAtAsc().stream()
+                .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional
+    public ReviewResponse approveHeldReview(Long reviewId) {
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+        
+        if (!Boolean.TRUE.equals(review.getIsHeld())) {
+            throw new RuntimeException("Review is not held for moderation");
+        }
+        
+        review.setIsHeld(false);
+        review.setHeldReason(null);
+        Review approved = reviewRepository.save(review);
+        ratingSummaryService.recordAdded(review.getEvent().getId(), approved.getRating());
+        return mapToResponse(approved);
+    }
+    
+    @Transactional
+    public void rejectHeldReview(Long reviewId) {
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+        
+        if (!Boolean.TRUE.equals(review.getIsHeld())) {
+            throw new RuntimeException("Review is not held for moderation");
+        }
+        
+        reviewRepository.delete(review);
+        afterCommit(() -> {
+            duplicateDetector.remove(review.getId());
+            helpfulVoteService.forget(review.getId());
+        });
+    }
+    
+    @Transactional(readOnly = true)
+    public ReviewPage getEventReviews(Long eventId, String sort, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize);
+        
+        String afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            // Split on the last ':' because timestamps contain colons
+            int separator = cursor.lastIndexOf(':');
+            try {
+                afterValue = cursor.substring(0, separator);
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        
+        List<ReviewRepository.FeedRow> rows;
+        try {
+            rows = switch (sort) {
+                case "recent" -> reviewRepository.findFeedByRecent(eventId,
+                        afterValue != null ? LocalDateTime.parse(afterValue) : null, afterId, limit);
+                case "helpful" -> reviewRepository.findFeedByHelpful(eventId,
+                        afterValue != null ? Integer.valueOf(afterValue) : null, afterId, limit);
+                case "rating" -> reviewRepository.findFeedByRating(eventId,
+                        afterValue != null ? Integer.valueOf(afterValue) : null, afterId, limit);
+                default -> throw new RuntimeException("Invalid sort: " + sort);
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        
+        EventRatingSummary summary = ratingSummaryService.getSummary(eventId);
+        
+        ReviewPage page = new ReviewPage();
+        page.setItems(rows.stream().map(row -> mapToResponse(eventId, row)).collect(Collectors.toList()));
+        page.setAverageRating(RatingSummaryService.averageOf(summary));
+        page.setTotalReviews(summary.getRatingCount().intValue());
+        if (rows.size() == pageSize) {
+            ReviewRepository.FeedRow last = rows.get(rows.size() - 1);
+            Object key = switch (sort) {
+                case "helpful" -> last.getHelpfulCount();
+                case "rating" -> last.getRating();
+                default -> last.getCreatedAt();
+            };
+            page.setNextCursor(key + ":" + last.getId());
+        }
+        return page;
+    }
+    
+    @Transactional(readOnly = true)
     public ReviewResponse getEventAverageRating(Long eventId) {
-        Double avgRating = reviewRepository.getAverageRatingByEventId(eventId);
-        Long totalReviews = reviewRepository.getReviewCountByEventId(eventId);
+        EventRatingSummary summary = ratingSummaryService.getSummary(eventId);
         
         ReviewResponse response = new ReviewResponse();
         response.setEventId(eventId);
-        response.setAverageRating(avgRating != null ? Math.round(avgRating * 10.0) / 10.0 : 0.0);
-        response.setTotalReviews(totalReviews != null ? totalReviews.intValue() : 0);
+        response.setAverageRating(RatingSummaryService.averageOf(summary));
+        response.setTotalReviews(summary.getRatingCount().intValue());
         return response;
     }
     
     public List<ReviewResponse> getUserReviews() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         
         return reviewRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).stream()
                 .map(this::mapToResponse)
@@ -120,11 +232,33 @@ public class ReviewService {
     }
     
     public void markHelpful(Long reviewId) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
-        
-        review.setHelpfulCount((review.getHelpfulCount() != null ? review.getHelpfulCount() : 0) + 1);
-        reviewRepository.save(review);
+        if (!helpfulVoteService.vote(reviewId, currentUserService.getUserId())) {
+            throw new RuntimeException("You have already marked this review as helpful");
+        }
+    }
+    
+    // The in-memory indexes only change once the database change is committed
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private ReviewResponse mapToResponse(Long eventId, ReviewRepository.FeedRow row) {
+        ReviewResponse response = new ReviewResponse();
+        response.setId(row.getId());
+        response.setEventId(eventId);
+        response.setUserId(row.getUserId());
+        response.setUserName(row.getUserName());
+        response.setRating(row.getRating());
+        response.setComment(row.getComment());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setHelpfulCount((row.getHelpfulCount() != null ? row.getHelpfulCount() : 0)
+                + helpfulVoteService.pendingVotes(row.getId()));
+        return response;
     }
     
     private ReviewResponse mapToResponse(Review review) {
@@ -136,7 +270,11 @@ public class ReviewService {
         response.setRating(review.getRating());
         response.setComment(review.getComment());
         response.setCreatedAt(review.getCreatedAt());
-        response.setHelpfulCount(review.getHelpfulCount() != null ? review.getHelpfulCount() : 0);
+        // Include votes that are still waiting to be flushed
+        response.setHelpfulCount((review.getHelpfulCount() != null ? review.getHelpfulCount() : 0)
+                + helpfulVoteService.pendingVotes(review.getId()));
+        response.setHeld(review.getIsHeld());
+        response.setHeldReason(review.getHeldReason());
         return response;
     }
 }
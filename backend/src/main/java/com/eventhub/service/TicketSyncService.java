@@ -0,0 +1,136 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.TicketSyncResponse;
+import com.eventhub.entity.Registration;
+import com.eventhub.repository.EventRepository;
+import com.eventhub.repository.RegistrationRepository;
+import com.eventhub.repository.TicketRevocationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class TicketSyncService {
+    
+    private final RegistrationRepository registrationRepository;
+    private final TicketRevocationRepository ticketRevocationRepository;
+    private final EventRepository eventRepository;
+    
+    public static final String PACKED_FORMAT = "SORTED_U32_BE_BASE64";
+    private static final Pattern PACKABLE_TICKET = Pattern.compile("^TKT-[0-9A-F]{8}$");
+    
+    // Re-read this much before "since" so rows committed late with an earlier timestamp are not missed;
+    // adds and revocations are set operations, so overlap is harmless
+    private static final long OVERLAP_MILLIS = 10_000;
+    private static final int MAX_CACHED_EVENTS = 64;
+    
+    private final Map<Long, EventSnapshot> snapshots = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, EventSnapshot> eldest) {
+                    return size() > MAX_CACHED_EVENTS;
+                }
+            });
+    
+    public TicketSyncResponse sync(Long eventId, Long since) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found");
+        }
+        
+        long version = System.currentTimeMillis();
+        
+        if (since != null && since > 0) {
+            Delta delta = loadDelta(eventId, since);
+            
+            TicketSyncResponse response = new TicketSyncResponse();
+            response.setEventId(eventId);
+            response.setVersion(version);
+            response.setFullSnapshot(false);
+            response.setAdded(new ArrayList<>(delta.added));
+            response.setRevoked(new ArrayList<>(delta.revoked));
+            return response;
+        }
+        
+        EventSnapshot snapshot = snapshots.computeIfAbsent(eventId, id -> new EventSnapshot());
+        synchronized (snapshot) {
+            if (snapshot.version == 0) {
+                snapshot.tickets.addAll(registrationRepository.findTicketCodes(eventId, Registration.RegistrationStatus.APPROVED));
+            } else {
+                // Roll the cached snapshot forward instead of reloading every ticket
+                Delta delta = loadDelta(eventId, snapshot.version);
+                snapshot.tickets.addAll(delta.added);
+                snapshot.tickets.removeAll(delta.revoked);
+                if (!delta.added.isEmpty() || !delta.revoked.isEmpty()) {
+                    snapshot.encoded = null;
+                }
+            }
+            snapshot.version = version;
+            if (snapshot.encoded == null) {
+                snapshot.encoded = encode(eventId, snapshot.tickets);
+            }
+            
+            TicketSyncResponse encoded = snapshot.encoded;
+            TicketSyncResponse response = new TicketSyncResponse();
+            response.setEventId(eventId);
+            response.setVersion(version);
+            response.setFullSnapshot(true);
+            response.setFormat(PACKED_FORMAT);
+            response.setTicketCount(encoded.getTicketCount());
+            response.setPackedTickets(encoded.getPackedTickets());
+            response.setOtherTickets(encoded.getOtherTickets());
+            return response;
+        }
+    }
+    
+    private Delta loadDelta(Long eventId, long since) {
+        LocalDateTime after = LocalDateTime.ofInstant(Instant.ofEpochMilli(since - OVERLAP_MILLIS), ZoneId.systemDefault());
+        
+        Delta delta = new Delta();
+        delta.revoked.addAll(ticketRevocationRepository.findTicketCodesRevokedAfter(eventId, after));
+        delta.added.addAll(registrationRepository.findTicketCodesApprovedAfter(
+                eventId, Registration.RegistrationStatus.APPROVED, after));
+        // Ticket codes are never reissued, so a revocation always wins
+        delta.added.removeAll(delta.revoked);
+        return delta;
+    }
+    
+    private TicketSyncResponse encode(Long eventId, Set<String> tickets) {
+        List<Integer> packable = new ArrayList<>();
+        List<String> other = new ArrayList<>();
+        for (String ticket : tickets) {
+            if (PACKABLE_TICKET.matcher(ticket).matches()) {
+                packable.add(Integer.parseUnsignedInt(ticket.substring(4), 16));
+            } else {
+                other.add(ticket);
+            }
+        }
+        packable.sort(Integer::compareUnsigned);
+        
+        ByteBuffer buffer = ByteBuffer.allocate(packable.size() * 4);
+        packable.forEach(buffer::putInt);
+        
+        TicketSyncResponse encoded = new TicketSyncResponse();
+        encoded.setEventId(eventId);
+        encoded.setTicketCount(tickets.size());
+        encoded.setPackedTickets(Base64.getEncoder().encodeToString(buffer.array()));
+        encoded.setOtherTickets(other);
+        return encoded;
+    }
+    
+    private static class EventSnapshot {
+        private final Set<String> tickets = new HashSet<>();
+        private long version;
+        private TicketSyncResponse encoded;
+    }
+    
+    private static class Delta {
+        private final Set<String> added = new HashSet<>();
+        private final Set<String> revoked = new HashSet<>();
+    }
+}
@@ -0,0 +1,194 @@
+package com.eventhub.service;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Access-token revocation without a network call per request. Redis is the source of truth:
+// a sorted set of revoked token ids scored by expiry, and a hash of per-user "revoked before"
+// times for password resets. Every node mirrors them in memory, the ids as a Bloom filter,
+// re-synced every few seconds. Only a Bloom hit, which is rare, is confirmed against Redis.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    
+    private static final String REVOKED_KEY = "jwt_revoked";
+    private static final String REVOKED_BEFORE_KEY = "jwt_revoked_before";
+    private static final int EXPECTED_REVOCATIONS = 100000;
+    
+    private final StringRedisTemplate redisTemplate;
+    
+    @Value("${jwt.expiration}")
+    private long accessExpiration;
+    
+    private volatile BloomFilter revokedIds = new BloomFilter(EXPECTED_REVOCATIONS);
+    
+    // Token id -> expiry millis for ids revoked on this node, folded into every rebuilt filter
+    // until Redis is seen to hold them, so a sync racing a logout can't drop the revocation
+    private final Map<String, Long> localRevokedIds = new ConcurrentHashMap<>();
+    
+    // User id -> epoch second; tokens issued strictly before it are revoked
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    
+    // Password-reset revocations Redis didn't accept yet; retried on every sync
+    private final Map<Long, Long> unsharedRevokedBefore = new ConcurrentHashMap<>();
+    
+    // Logout: revokes one access token until it would have expired anyway
+    public void revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        redisTemplate.opsForZSet().add(REVOKED_KEY, claims.getId(), claims.getExpiration().getTime());
+        localRevokedIds.put(claims.getId(), claims.getExpiration().getTime());
+        revokedIds.put(claims.getId());
+    }
+    
+    // Password reset: revokes every access token the user was issued before this second. JWT iat
+    // is whole seconds, so a login in the same second as the reset keeps its token. Runs after the
+    // password commits, so it never throws: this node revokes at once, and if Redis is down the
+    // revocation is shared on a later sync.
+    public void revokeAllForUser(Long userId) {
+        long now = System.currentTimeMillis() / 1000;
+        revokedBefore.merge(userId, now, Math::max);
+        try {
+            redisTemplate.opsForHash().put(REVOKED_BEFORE_KEY, userId.toString(), Long.toString(now));
+        } catch (RuntimeException e) {
+            unsharedRevokedBefore.merge(userId, now, Math::max);
+            log.warn("Could not share token revocation for user {}: {}", userId, e.getMessage());
+        }
+    }
+    
+    public boolean isRevoked(Claims claims) {
+        Long userId = claims.get("uid", Long.class);
+        Long before = userId != null ? revokedBefore.get(userId) : null;
+        if (before != null && claims.getIssuedAt() != null && claims.getIssuedAt().getTime() / 1000 < before) {
+            return true;
+        }
+        
+        String tokenId = claims.getId();
+        if (tokenId == null || !revokedIds.mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return redisTemplate.opsForZSet().score(REVOKED_KEY, tokenId) != null;
+        } catch (RuntimeException e) {
+            // A Bloom hit is most likely a real revocation, so fail closed
+            log.warn("Could not confirm token revocation: {}", e.getMessage());
+            return true;
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-ms:5000}")
+    public void sync() {
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<String> ids = redisTemplate.opsForZSet().rangeByScore(REVOKED_KEY, now, Double.POSITIVE_INFINITY);
+            
+            BloomFilter rebuilt = new BloomFilter(Math.max(EXPECTED_REVOCATIONS, ids != null ? ids.size() : 0));
+            if (ids != null) {
+                ids.forEach(rebuilt::put);
+                localRevokedIds.keySet().removeAll(ids);
+            }
+            localRevokedIds.values().removeIf(expiry -> expiry <= now);
+            localRevokedIds.keySet().forEach(rebuilt::put);
+            revokedIds = rebuilt;
+            
+            // Entries older than an access token's lifetime can no longer match anything. Redis
+            // entries are merged in rather than replacing the map, so a reset revoked on this node
+            // while the snapshot was read is kept.
+            long oldestLive = (now - accessExpiration) / 1000;
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(REVOKED_BEFORE_KEY);
+            entries.forEach((user, second) -> {
+                long revokedAt = Long.parseLong(second.toString());
+                if (revokedAt < oldestLive) {
+                    redisTemplate.opsForHash().delete(REVOKED_BEFORE_KEY, user);
+                } else {
+                    revokedBefore.merge(Long.valueOf(user.toString()), revokedAt, Math::max);
+                }
+            });
+            revokedBefore.values().removeIf(second -> second < oldestLive);
+            
+            // Share resets Redis missed, unless another node has since stored a later one
+            unsharedRevokedBefore.forEach((user, second) -> {
+                Object shared = entries.get(user.toString());
+                if (shared == null || Long.parseLong(shared.toString()) < second) {
+                    redisTemplate.opsForHash().put(REVOKED_BEFORE_KEY, user.toString(), Long.toString(second));
+                }
+                unsharedRevokedBefore.remove(user, second);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not sync token revocations from Redis: {}", e.getMessage());
+        }
+    }
+    
+    // Sized for about 1% false positives at the expected count; positives are confirmed anyway
+    private static class BloomFilter {
+        private static final int HASHES = 7;
+        
+        private final AtomicLongArray bits;
+        private final long size;
+        
+        BloomFilter(int expected) {
+            size = Math.max(64, (long) Math.ceil(expected * 9.6));
+            bits = new AtomicLongArray((int) ((size + 63) / 64));
+        }
+        
+        void put(String value) {
+            long[] hashes = hashes(value);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = index(hashes, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+        
+        boolean mightContain(String value) {
+            long[] hashes = hashes(value);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = index(hashes, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // Double hashing: the i-th probe is h1 + i * h2
+        private long index(long[] hashes, int i) {
+            return Math.floorMod(hashes[0] + i * hashes[1], size);
+        }
+        
+        private static long[] hashes(String value) {
+            long h1 = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h1 = (h1 ^ b) * 0x100000001b3L;
+            }
+            return new long[]{mix(h1), mix(h1 ^ 0x9E3779B97F4A7C15L) | 1};
+        }
+        
+        private static long mix(long value) {
+            long z = value + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -8,7 +8,6 @@ import com.eventhub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import java.util.HashMap;
 import java.util.List;
@@ -20,13 +19,12 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final EventRepository eventRepository;
     private final RegistrationRepository registrationRepository;
     
     public UserResponse getCurrentUserProfile() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUserService.getUser();
         return mapToResponse(user);
     }
     
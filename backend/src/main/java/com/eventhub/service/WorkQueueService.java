@@ -0,0 +1,131 @@
+package com.eventhub.service;
+
+import com.eventhub.dto.WorkQueueStats;
+import com.eventhub.entity.WorkQueueItem;
+import com.eventhub.repository.WorkQueueItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Shared queue for the admin approval flows. Admins claim the next N items with
+// SKIP LOCKED, which leases them for a while so other admins are handed different
+// items; a lease that runs out returns the item to the queue without any cleanup job.
+// Approving or rejecting completes the item and records who did it for the stats.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkQueueService {
+    
+    private static final int MAX_CLAIM = 50;
+    private static final int PURGE_BATCH_SIZE = 1000;
+    
+    private final WorkQueueItemRepository workQueueItemRepository;
+    
+    @Value("${work-queue.lease-seconds:300}")
+    private long leaseSeconds;
+    
+    @Value("${work-queue.retention-days:30}")
+    private int retentionDays;
+    
+    public void enqueue(WorkQueueItem.Queue queue, Long itemId) {
+        workQueueItemRepository.enqueue(queue.name(), itemId, LocalDateTime.now());
+    }
+    
+    // For items that left the queue without an admin decision, e.g. a cancelled registration
+    @Transactional
+    public void discard(WorkQueueItem.Queue queue, Long itemId) {
+        workQueueItemRepository.findForUpdate(queue, itemId).ifPresent(item -> {
+            item.setStatus(WorkQueueItem.Status.DONE);
+            item.setCompletedAt(LocalDateTime.now());
+            item.setOutcome("DISCARDED");
+        });
+    }
+    
+    // Returns the claimed item ids, oldest first
+    @Transactional
+    public List<Long> claim(WorkQueueItem.Queue queue, Long adminId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkQueueItem> items = workQueueItemRepository.lockAvailable(
+                queue.name(), now, Math.max(1, Math.min(limit, MAX_CLAIM)));
+        for (WorkQueueItem item : items) {
+            item.setClaimedBy(adminId);
+            item.setClaimedAt(now);
+            item.setLeaseUntil(now.plusSeconds(leaseSeconds));
+        }
+        return items.stream().map(WorkQueueItem::getItemId).toList();
+    }
+    
+    @Transactional
+    public void release(WorkQueueItem.Queue queue, Long itemId, Long adminId) {
+        workQueueItemRepository.findForUpdate(queue, itemId).ifPresent(item -> {
+            if (item.getStatus() == WorkQueueItem.Status.PENDING && adminId.equals(item.getClaimedBy())) {
+                item.setClaimedBy(null);
+                item.setClaimedAt(null);
+                item.setLeaseUntil(LocalDateTime.now());
+            }
+        });
+    }
+    
+    // Runs inside the caller's approve/reject transaction, so the item and its queue entry change together
+    @Transactional
+    public void complete(WorkQueueItem.Queue queue, Long itemId, Long adminId, String outcome) {
+        WorkQueueItem item = workQueueItemRepository.findForUpdate(queue, itemId).orElse(null);
+        if (item == null || item.getStatus() == WorkQueueItem.Status.DONE) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        if (item.getClaimedBy() != null && !item.getClaimedBy().equals(adminId) && item.getLeaseUntil().isAfter(now)) {
+            throw new RuntimeException("This item is being handled by another admin");
+        }
+        
+        item.setStatus(WorkQueueItem.Status.DONE);
+        item.setCompletedBy(adminId);
+        item.setCompletedAt(now);
+        item.setOutcome(outcome);
+    }
+    
+    public WorkQueueStats getStats(int hours) {
+        LocalDateTime since = LocalDateTime.now().minusHours(Math.max(1, hours));
+        WorkQueueStats stats = new WorkQueueStats();
+        stats.setPendingRegistrations(workQueueItemRepository.countByQueueAndStatus(
+                WorkQueueItem.Queue.REGISTRATION, WorkQueueItem.Status.PENDING));
+        stats.setPendingPasswordResets(workQueueItemRepository.countByQueueAndStatus(
+                WorkQueueItem.Queue.PASSWORD_RESET, WorkQueueItem.Status.PENDING));
+        stats.setAdmins(workQueueItemRepository.findThroughputSince(since).stream().map(row -> {
+            WorkQueueStats.AdminThroughput throughput = new WorkQueueStats.AdminThroughput();
+            throughput.setQueue(row.getQueue());
+            throughput.setAdminId(row.getAdminId());
+            throughput.setAdminName(row.getAdminName());
+            throughput.setCompleted(row.getCompleted());
+            throughput.setAvgHandleSeconds(row.getAvgHandleSeconds());
+            return throughput;
+        }).toList());
+        return stats;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void enqueueMissing() {
+        int added = workQueueItemRepository.enqueueMissingRegistrations()
+                + workQueueItemRepository.enqueueMissingPasswordResets();
+        if (added > 0) {
+            log.info("Queued {} pending approvals that were missing from the work queue", added);
+        }
+    }
+    
+    @Scheduled(cron = "${work-queue.purge-cron:0 45 * * * *}")
+    public void purgeCompleted() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int deleted;
+        do {
+            deleted = workQueueItemRepository.deleteCompletedBefore(cutoff, PURGE_BATCH_SIZE);
+        } while (deleted == PURGE_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,47 @@
+-- Token buckets for every key in KEYS, checked and charged atomically.
+-- ARGV holds a capacity and a window in milliseconds for each key, in order.
+-- A request is allowed only if every bucket has a token, and then each bucket loses one.
+-- Returns {allowed, remaining, reset_ms, retry_after_ms}: remaining is the smallest bucket
+-- after this request, reset_ms the time until all buckets are full again, and
+-- retry_after_ms the wait until a denied request could succeed.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local levels = {}
+local allowed = 1
+local retry_after = 0
+for i = 1, #KEYS do
+  local capacity = tonumber(ARGV[i * 2 - 1])
+  local rate = capacity / tonumber(ARGV[i * 2])
+  local state = redis.call('HMGET', KEYS[i], 'tokens', 'ts')
+  local level = tonumber(state[1]) or capacity
+  local last = tonumber(state[2]) or now
+  level = math.min(capacity, level + math.max(0, now - last) * rate)
+  levels[i] = level
+  if level < 1 then
+    allowed = 0
+    retry_after = math.max(retry_after, math.ceil((1 - level) / rate))
+  end
+end
+
+local remaining = -1
+local reset = 0
+for i = 1, #KEYS do
+  local capacity = tonumber(ARGV[i * 2 - 1])
+  local window = tonumber(ARGV[i * 2])
+  local rate = capacity / window
+  local level = levels[i]
+  if allowed == 1 then
+    level = level - 1
+  end
+  redis.call('HSET', KEYS[i], 'tokens', tostring(level), 'ts', tostring(now))
+  -- An untouched bucket is full again after one window, so its state can expire
+  redis.call('PEXPIRE', KEYS[i], window)
+  local left = math.floor(level)
+  if remaining < 0 or left < remaining then
+    remaining = left
+  end
+  reset = math.max(reset, math.ceil((capacity - level) / rate))
+end
+
+return {allowed, remaining, reset, retry_after}
@@ -53,12 +53,18 @@ export default function AdminReviewsPage() {
       const allReviews: Review[] = [];
       for (const event of events) {
         try {
-          const reviewsRes = await api.get(`/reviews/event/${event.id}`);
-          const eventReviews = reviewsRes.data.map((review: any) => ({
-            ...review,
-            eventTitle: event.title
-          }));
-          allReviews.push(...eventReviews);
+          let cursor: string | null = null;
+          do {
+            const reviewsRes: any = await api.get(`/reviews/event/${event.id}`, {
+              params: { size: 100, cursor: cursor ?? undefined }
+            });
+            const eventReviews = reviewsRes.data.items.map((review: any) => ({
+              ...review,
+              eventTitle: event.title
+            }));
+            allReviews.push(...eventReviews);
+            cursor = reviewsRes.data.nextCursor;
+          } while (cursor);
         } catch (error) {
           console.error(`Error fetching reviews for event ${event.id}:`, error);
         }
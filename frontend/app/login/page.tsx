@@ -21,6 +21,7 @@ export default function LoginPage() {
     try {
       const response = await login(formData);
       localStorage.setItem('token', response.data.token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
       localStorage.setItem('user', JSON.stringify(response.data));
       showSuccess(`Welcome back, ${response.data.name}!`);
       const redirectPath = response.data.role === 'ADMIN' ? '/admin' : '/dashboard';
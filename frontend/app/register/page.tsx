@@ -21,6 +21,7 @@ export default function RegisterPage() {
     try {
       const response = await register(formData);
       localStorage.setItem('token', response.data.token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
       localStorage.setItem('user', JSON.stringify(response.data));
       showSuccess('Account created successfully! Welcome to EventHub!');
       setTimeout(() => router.push('/dashboard'), 1000);
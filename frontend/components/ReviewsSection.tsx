@@ -24,7 +24,10 @@ export default function ReviewsSection({ eventId, currentUserId }: ReviewsSectio
   const [reviews, setReviews] = useState<Review[]>([]);
   const [averageRating, setAverageRating] = useState(0);
   const [totalReviews, setTotalReviews] = useState(0);
+  const [starCounts, setStarCounts] = useState<number[]>([0, 0, 0, 0, 0]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [showForm, setShowForm] = useState(false);
   const [editingReview, setEditingReview] = useState<Review | null>(null);
   const [userReview, setUserReview] = useState<Review | null>(null);
@@ -36,17 +39,21 @@ export default function ReviewsSection({ eventId, currentUserId }: ReviewsSectio
   const fetchReviews = async () => {
     try {
       setLoading(true);
-      const [reviewsRes, ratingRes] = await Promise.all([
+      const [reviewsRes, ratingsRes, myReviewsRes] = await Promise.all([
         api.get(`/reviews/event/${eventId}`),
-        api.get(`/reviews/event/${eventId}/rating`)
+        api.get('/reviews/ratings', { params: { eventIds: eventId } }),
+        currentUserId ? api.get('/reviews/my-reviews') : Promise.resolve({ data: [] })
       ]);
 
-      setReviews(reviewsRes.data);
-      setAverageRating(ratingRes.data.averageRating || 0);
-      setTotalReviews(ratingRes.data.totalReviews || 0);
+      setReviews(reviewsRes.data.items);
+      setNextCursor(reviewsRes.data.nextCursor || null);
+      setAverageRating(reviewsRes.data.averageRating || 0);
+      setTotalReviews(reviewsRes.data.totalReviews || 0);
+      // Counts cover every review, not just the pages loaded so far
+      setStarCounts(ratingsRes.data[0]?.starCounts || [0, 0, 0, 0, 0]);
 
-      // Check if current user has already reviewed
-      const userReviewData = reviewsRes.data.find((r: Review) => r.userId === currentUserId);
+      // Check if current user has already reviewed; their review may not be on the first page
+      const userReviewData = myReviewsRes.data.find((r: Review & { eventId: number }) => r.eventId === eventId);
       setUserReview(userReviewData || null);
     } catch (error) {
       console.error('Error fetching reviews:', error);
@@ -55,6 +62,20 @@ export default function ReviewsSection({ eventId, currentUserId }: ReviewsSectio
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const res = await api.get(`/reviews/event/${eventId}`, { params: { cursor: nextCursor } });
+      setReviews(prev => [...prev, ...res.data.items.filter((r: Review) => !prev.some(p => p.id === r.id))]);
+      setNextCursor(res.data.nextCursor || null);
+    } catch (error) {
+      console.error('Error loading more reviews:', error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleReviewSuccess = () => {
     setShowForm(false);
     setEditingReview(null);
@@ -100,7 +121,7 @@ export default function ReviewsSection({ eventId, currentUserId }: ReviewsSectio
           {/* Rating Distribution */}
           <div className="flex-1 space-y-2">
             {[5, 4, 3, 2, 1].map((star) => {
-              const count = reviews.filter(r => r.rating === star).length;
+              const count = starCounts[star - 1] || 0;
               const percentage = totalReviews > 0 ? (count / totalReviews) * 100 : 0;
               return (
                 <div key={star} className="flex items-center gap-2">
@@ -163,6 +184,16 @@ export default function ReviewsSection({ eventId, currentUserId }: ReviewsSectio
             />
           ))
         )}
+
+        {nextCursor && (
+          <button
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="w-full py-2 rounded-lg border border-gray-300 dark:border-gray-600 text-gray-700 dark:text-gray-300 hover:bg-gray-100 dark:hover:bg-gray-700 font-semibold disabled:opacity-50"
+          >
+            {loadingMore ? 'Loading...' : 'Load more reviews'}
+          </button>
+        )}
       </div>
     </div>
   );
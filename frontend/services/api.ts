@@ -16,6 +16,46 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// Access tokens are short-lived; on 401/403 trade the refresh token for a new pair once and retry
+let refreshing: Promise<string | null> | null = null;
+
+const refreshAccessToken = async (): Promise<string | null> => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    return null;
+  }
+  try {
+    const response = await axios.post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken });
+    localStorage.setItem('token', response.data.token);
+    localStorage.setItem('refreshToken', response.data.refreshToken);
+    return response.data.token;
+  } catch {
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    localStorage.removeItem('user');
+    return null;
+  }
+};
+
+api.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    const status = error.response?.status;
+    if ((status === 401 || status === 403) && original && !original._retried && localStorage.getItem('refreshToken')) {
+      original._retried = true;
+      // Concurrent failures share one refresh, since each refresh token works only once
+      refreshing = refreshing ?? refreshAccessToken().finally(() => { refreshing = null; });
+      const token = await refreshing;
+      if (token) {
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      }
+    }
+    return Promise.reject(error);
+  }
+);
+
 // Auth
 export const register = (data: { name: string; email: string; password: string }) =>
   api.post('/auth/register', data);
@@ -23,6 +63,9 @@ export const register = (data: { name: string; email: string; password: string }
 export const login = (data: { email: string; password: string }) =>
   api.post('/auth/login', data);
 
+export const logout = () =>
+  api.post('/auth/logout', { refreshToken: localStorage.getItem('refreshToken') });
+
 // Events
 export const getEvents = (page: number = 0, size: number = 12) => 
   api.get('/events', { params: { page, size } });